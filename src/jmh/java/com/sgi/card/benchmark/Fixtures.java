@@ -0,0 +1,86 @@
+package com.sgi.card.benchmark;
+
+import com.sgi.card.domain.model.Card;
+import com.sgi.card.infrastructure.dto.BalanceResponse;
+import com.sgi.card.infrastructure.dto.CardRequest;
+import com.sgi.card.infrastructure.dto.PaymentRequest;
+import com.sgi.card.infrastructure.subscriber.events.OrchestratorEvent;
+import com.sgi.card.infrastructure.subscriber.events.OrchestratorEventResponse;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sample objects shared by the benchmarks.
+ * Cards have {@code accounts} associated accounts named {@code account-0..n-1}; only the last one has funds,
+ * so a payment has to look at every account before it finds the balance that covers it.
+ */
+final class Fixtures {
+
+    static final BigDecimal AMOUNT = new BigDecimal("25.50");
+    static final BigDecimal FUNDS = new BigDecimal("1000000000");
+
+    private Fixtures() {
+    }
+
+    static Card card(String cardId, int accounts) {
+        List<String> accountIds = new ArrayList<>(accounts);
+        for (int i = 0; i < accounts; i++) {
+            accountIds.add(accountId(i));
+        }
+        return Card.builder()
+                .id(cardId)
+                .cardNumber("4000001234567899")
+                .expirationDate(Instant.now().plus(1825, ChronoUnit.DAYS))
+                .type("DEBIT")
+                .mainAccountId(accountIds.get(0))
+                .associatedAccountIds(accountIds)
+                .clientId("client-1")
+                .version(0L)
+                .build();
+    }
+
+    static String accountId(int index) {
+        return "account-" + index;
+    }
+
+    static CardRequest cardRequest() {
+        return new CardRequest()
+                .cardNumber("4000001234567899")
+                .expirationDate(OffsetDateTime.now().plusYears(5))
+                .type(CardRequest.TypeEnum.DEBIT)
+                .mainAccountId(accountId(0))
+                .associatedAccountIds(new ArrayList<>(List.of(accountId(0), accountId(1))))
+                .clientId("client-1");
+    }
+
+    static BalanceResponse balance(String accountId) {
+        return new BalanceResponse()
+                .accountId(accountId)
+                .clientId("client-1")
+                .accountBalance(FUNDS);
+    }
+
+    static PaymentRequest payment() {
+        return new PaymentRequest()
+                .type(PaymentRequest.TypeEnum.PAYMENT)
+                .amount(AMOUNT);
+    }
+
+    static OrchestratorEventResponse orchestratorResponse(OrchestratorEvent event) {
+        return OrchestratorEventResponse.builder()
+                .correlationId(event.getCorrelationId())
+                .cardId(event.getCardId())
+                .accountId(event.getAccountId())
+                .clientId(event.getClientId())
+                .type(event.getType())
+                .status("COMPLETED")
+                .amount(event.getAmount())
+                .balance(event.getBalance())
+                .build();
+    }
+}
@@ -0,0 +1,212 @@
+package com.sgi.card.benchmark;
+
+import com.sgi.card.domain.model.Card;
+import com.sgi.card.domain.model.IdempotencyRecord;
+import com.sgi.card.domain.model.OutboxEvent;
+import com.sgi.card.domain.ports.out.CardRepository;
+import com.sgi.card.domain.ports.out.EventOutbox;
+import com.sgi.card.domain.ports.out.FeignExternalService;
+import com.sgi.card.domain.ports.out.IdempotencyStore;
+import com.sgi.card.domain.ports.out.PaymentStatusStore;
+import com.sgi.card.domain.shared.CustomError;
+import com.sgi.card.infrastructure.dto.BalanceResponse;
+import com.sgi.card.infrastructure.dto.CardResponse;
+import com.sgi.card.infrastructure.dto.PaymentResponse;
+import com.sgi.card.infrastructure.mapper.CardMapper;
+import com.sgi.card.infrastructure.subscriber.events.OrchestratorEvent;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory stand-ins for the outbound ports used by the payment pipeline.
+ * Only the operations on that path are implemented; the rest fail with {@link UnsupportedOperationException}.
+ */
+final class InMemoryStubs {
+
+    private InMemoryStubs() {
+    }
+
+    static final class Cards implements CardRepository {
+
+        private final Map<String, Card> cards = new ConcurrentHashMap<>();
+
+        void put(Card card) {
+            cards.put(card.getId(), card);
+        }
+
+        @Override
+        public Mono<Card> findById(String cardId) {
+            return Mono.justOrEmpty(cards.get(cardId));
+        }
+
+        @Override
+        public Mono<CardResponse> save(Card card) {
+            put(card);
+            return Mono.just(CardMapper.INSTANCE.toCardResponse(card));
+        }
+
+        @Override
+        public Mono<Map<Integer, CustomError>> insertAll(List<Card> cards) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Mono<CardResponse> update(String cardId, Map<String, Object> changes, Long expectedVersion) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Mono<CardResponse> associateAccount(String cardId, String accountId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Mono<CardResponse> associateAccounts(String cardId, Collection<String> accountIds) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Mono<CardResponse> disassociateAccounts(String cardId, Collection<String> accountIds) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Flux<CardResponse> findAll(String clientId, String type, String cardId,
+                                          String cursor, Integer limit, List<String> fields) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Mono<Void> delete(Card card) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Answers balance lookups after {@code latency}; only the account named {@code fundedAccountId} has funds.
+     */
+    static final class AccountService implements FeignExternalService {
+
+        private final Duration latency;
+        private final String fundedAccountId;
+
+        AccountService(Duration latency, String fundedAccountId) {
+            this.latency = latency;
+            this.fundedAccountId = fundedAccountId;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <R> Publisher<R> get(String operation, String url, String pathVariable, Class<R> responseType,
+                                    boolean isFlux) {
+            BalanceResponse balance = Fixtures.balance(pathVariable);
+            if (!pathVariable.equals(fundedAccountId)) {
+                balance.setAccountBalance(BigDecimal.ZERO);
+            }
+            Mono<R> response = Mono.just((R) balance);
+            return latency.isZero() ? response : response.delayElement(latency);
+        }
+
+        @Override
+        public <T, R> Mono<R> post(String operation, String url, T requestBody, Class<R> responseType) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Mono<ResponseEntity<Flux<DataBuffer>>> stream(String operation, String url) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Hands every enqueued event to {@code orchestrator} straight away, standing in for the outbox relay,
+     * Kafka and the orchestrator answering.
+     */
+    static final class Outbox implements EventOutbox {
+
+        private final Consumer<OrchestratorEvent> orchestrator;
+
+        Outbox(Consumer<OrchestratorEvent> orchestrator) {
+            this.orchestrator = orchestrator;
+        }
+
+        @Override
+        public Mono<Void> enqueue(String key, Object event) {
+            return Mono.fromRunnable(() -> orchestrator.accept((OrchestratorEvent) event));
+        }
+
+        @Override
+        public Flux<OutboxEvent> claim(String owner, int batchSize, Duration lease) {
+            return Flux.empty();
+        }
+
+        @Override
+        public Mono<Void> remove(Collection<String> ids) {
+            return Mono.empty();
+        }
+    }
+
+    static final class Idempotency implements IdempotencyStore {
+
+        private final Map<String, IdempotencyRecord> records = new ConcurrentHashMap<>();
+
+        void clear() {
+            records.clear();
+        }
+
+        @Override
+        public Mono<IdempotencyRecord> claim(String key, String requestHash) {
+            return Mono.fromSupplier(() -> records.putIfAbsent(key, IdempotencyRecord.builder()
+                    .id(key)
+                    .requestHash(requestHash)
+                    .claimedAt(Instant.now())
+                    .createdAt(Instant.now())
+                    .build()));
+        }
+
+        @Override
+        public Mono<Void> complete(String key, PaymentResponse response) {
+            return Mono.fromRunnable(() -> records.computeIfPresent(key, (id, record) -> {
+                record.setResponse(response);
+                return record;
+            }));
+        }
+
+        @Override
+        public Mono<Void> release(String key) {
+            return Mono.fromRunnable(() -> records.remove(key));
+        }
+    }
+
+    static final class PaymentStatuses implements PaymentStatusStore {
+
+        private final Map<String, PaymentResponse> statuses = new ConcurrentHashMap<>();
+
+        @Override
+        public Mono<Void> pending(PaymentResponse response) {
+            return Mono.fromRunnable(() -> statuses.putIfAbsent(response.getCorrelationId(), response));
+        }
+
+        @Override
+        public Mono<Void> complete(PaymentResponse response) {
+            return Mono.fromRunnable(() -> statuses.put(response.getCorrelationId(), response));
+        }
+
+        @Override
+        public Mono<PaymentResponse> find(String correlationId) {
+            return Mono.justOrEmpty(statuses.get(correlationId));
+        }
+    }
+}
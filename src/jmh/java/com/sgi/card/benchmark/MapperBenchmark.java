@@ -0,0 +1,91 @@
+package com.sgi.card.benchmark;
+
+import com.sgi.card.domain.model.Card;
+import com.sgi.card.infrastructure.dto.BalanceResponse;
+import com.sgi.card.infrastructure.dto.CardRequest;
+import com.sgi.card.infrastructure.dto.CardResponse;
+import com.sgi.card.infrastructure.dto.PaymentRequest;
+import com.sgi.card.infrastructure.dto.PaymentResponse;
+import com.sgi.card.infrastructure.mapper.CardEventMapper;
+import com.sgi.card.infrastructure.mapper.CardMapper;
+import com.sgi.card.infrastructure.mapper.ExternalOrchestratorDataMapper;
+import com.sgi.card.infrastructure.subscriber.events.BalanceEventResponse;
+import com.sgi.card.infrastructure.subscriber.events.OrchestratorEvent;
+import com.sgi.card.infrastructure.subscriber.events.OrchestratorEventResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct mappings used on every card read, payment and balance event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private Card card;
+    private CardRequest cardRequest;
+    private BalanceResponse balance;
+    private PaymentRequest payment;
+    private OrchestratorEvent event;
+    private OrchestratorEventResponse eventResponse;
+
+    @Setup
+    public void setUp() {
+        card = Fixtures.card("card-1", 4);
+        cardRequest = Fixtures.cardRequest();
+        balance = Fixtures.balance("account-0");
+        payment = Fixtures.payment();
+        event = ExternalOrchestratorDataMapper.INSTANCE.toOrchestratorEvent(card, balance, payment);
+        event.setCorrelationId("correlation-1");
+        eventResponse = Fixtures.orchestratorResponse(event);
+    }
+
+    @Benchmark
+    public CardResponse cardToResponse() {
+        return CardMapper.INSTANCE.toCardResponse(card);
+    }
+
+    @Benchmark
+    public Card requestToCard() {
+        return CardMapper.INSTANCE.toCard(cardRequest);
+    }
+
+    @Benchmark
+    public BalanceResponse cardBalance() {
+        return CardMapper.INSTANCE.toBalance(balance, card.getId());
+    }
+
+    @Benchmark
+    public OrchestratorEvent paymentToEvent() {
+        return ExternalOrchestratorDataMapper.INSTANCE.toOrchestratorEvent(card, balance, payment);
+    }
+
+    @Benchmark
+    public PaymentResponse eventToPending() {
+        return ExternalOrchestratorDataMapper.INSTANCE.toPaymentResponse(event);
+    }
+
+    @Benchmark
+    public PaymentResponse resultToPayment() {
+        return ExternalOrchestratorDataMapper.INSTANCE.toPaymentResponse(eventResponse);
+    }
+
+    @Benchmark
+    public BalanceEventResponse balanceEvent() {
+        return CardEventMapper.INSTANCE.map(balance);
+    }
+}
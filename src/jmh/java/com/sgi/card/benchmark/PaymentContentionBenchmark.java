@@ -0,0 +1,134 @@
+package com.sgi.card.benchmark;
+
+import com.sgi.card.application.service.impl.CardServiceImpl;
+import com.sgi.card.application.service.impl.FundsReservations;
+import com.sgi.card.application.service.impl.PaymentSequencer;
+import com.sgi.card.application.service.impl.PendingPaymentRegistry;
+import com.sgi.card.infrastructure.config.LoggingProperties;
+import com.sgi.card.infrastructure.dto.PaymentRequest;
+import com.sgi.card.infrastructure.feign.AccountBalanceServiceImpl;
+import com.sgi.card.infrastructure.logging.LogSamplers;
+import com.sgi.card.infrastructure.metrics.StageTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bursts of {@code payments} payments issued at once and spread over {@code cards} cards, measured until the
+ * last one is answered. With one card every payment queues behind the same {@link PaymentSequencer} stripe, which
+ * is where a recursive drain used to overflow the stack; {@code sequencer} isolates that queue with actions that
+ * complete synchronously.
+ * Every payment is subscribed on its own and counted down on a latch, so the measurement does not include
+ * merging thousands of inner publishers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentContentionBenchmark {
+
+    @Param({"10000"})
+    public int payments;
+
+    @Param({"1", "16", "1024"})
+    public int cards;
+
+    private String[] cardIds;
+    private CardServiceImpl cardService;
+    private PaymentSequencer paymentSequencer;
+    private PaymentRequest payment;
+
+    @Setup
+    public void setUp() {
+        InMemoryStubs.Cards cardRepository = new InMemoryStubs.Cards();
+        cardIds = new String[cards];
+        for (int i = 0; i < cards; i++) {
+            cardIds[i] = "card-" + i;
+            cardRepository.put(Fixtures.card(cardIds[i], 1));
+        }
+        InMemoryStubs.AccountService accountService = new InMemoryStubs.AccountService(Duration.ZERO,
+                Fixtures.accountId(0));
+        AccountBalanceServiceImpl accountBalanceService = new AccountBalanceServiceImpl(accountService,
+                new SimpleMeterRegistry(), "http://account-service", false, "/v1/accounts/balances", 50,
+                Duration.ofMillis(5), 16, 10_000, Duration.ofSeconds(2), Duration.ofMinutes(5));
+        PendingPaymentRegistry pendingPayments = new PendingPaymentRegistry(payments, Duration.ofMinutes(1),
+                100_000, Duration.ofMinutes(1));
+        FundsReservations fundsReservations = new FundsReservations(Duration.ofSeconds(30));
+        InMemoryStubs.Outbox outbox = new InMemoryStubs.Outbox(event -> {
+            fundsReservations.release(event.getCorrelationId());
+            pendingPayments.complete(Fixtures.orchestratorResponse(event));
+        });
+        paymentSequencer = new PaymentSequencer(1024);
+
+        cardService = new CardServiceImpl(cardRepository, accountService, accountBalanceService, null, outbox,
+                pendingPayments, null, new InMemoryStubs.Idempotency(), paymentSequencer, fundsReservations,
+                new InMemoryStubs.PaymentStatuses(),
+                new StageTimer(new StaticListableBeanFactory().getBeanProvider(ObservationRegistry.class)),
+                new LogSamplers(new LoggingProperties()));
+        ReflectionTestUtils.setField(cardService, "transactionServiceUrl", "http://transaction-service");
+        ReflectionTestUtils.setField(cardService, "outboxEnabled", true);
+        ReflectionTestUtils.setField(cardService, "paymentResponseTimeout", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(cardService, "verifyFundsParallelism", 1);
+        ReflectionTestUtils.setField(cardService, "verifyFundsHedgeDelay", Duration.ZERO);
+        payment = Fixtures.payment();
+    }
+
+    @Benchmark
+    public void payments() throws InterruptedException {
+        CountDownLatch answered = new CountDownLatch(payments);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int i = 0; i < payments; i++) {
+            cardService.processPaymentOrWithdrawal(cardIds[i % cards], Mono.just(payment), null)
+                    .subscribe(response -> answered.countDown(), error -> {
+                        failure.set(error);
+                        answered.countDown();
+                    });
+        }
+        await(answered, failure);
+    }
+
+    @Benchmark
+    public void sequencer() throws InterruptedException {
+        CountDownLatch answered = new CountDownLatch(payments);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int i = 0; i < payments; i++) {
+            int sequence = i;
+            paymentSequencer.serialize(cardIds[i % cards], () -> Mono.just(sequence))
+                    .subscribe(value -> answered.countDown(), error -> {
+                        failure.set(error);
+                        answered.countDown();
+                    });
+        }
+        await(answered, failure);
+    }
+
+    private static void await(CountDownLatch answered, AtomicReference<Throwable> failure)
+            throws InterruptedException {
+        if (!answered.await(1, TimeUnit.MINUTES)) {
+            throw new IllegalStateException(answered.getCount() + " payments were not answered");
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException(failure.get());
+        }
+    }
+}
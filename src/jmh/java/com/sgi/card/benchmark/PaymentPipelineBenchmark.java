@@ -0,0 +1,144 @@
+package com.sgi.card.benchmark;
+
+import com.sgi.card.application.service.impl.CardServiceImpl;
+import com.sgi.card.application.service.impl.FundsReservations;
+import com.sgi.card.application.service.impl.PaymentSequencer;
+import com.sgi.card.application.service.impl.PendingPaymentRegistry;
+import com.sgi.card.infrastructure.config.LoggingProperties;
+import com.sgi.card.infrastructure.dto.PaymentRequest;
+import com.sgi.card.infrastructure.dto.PaymentResponse;
+import com.sgi.card.infrastructure.feign.AccountBalanceServiceImpl;
+import com.sgi.card.infrastructure.logging.LogSamplers;
+import com.sgi.card.infrastructure.metrics.StageTimer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The whole {@link CardServiceImpl#processPaymentOrWithdrawal} pipeline against in-memory ports: card lookup,
+ * per-card sequencing, fund verification through {@link AccountBalanceServiceImpl}, reservation, the outbox
+ * and the orchestrator answer, which {@link InMemoryStubs.Outbox} delivers as soon as the event is enqueued.
+ * <ul>
+ *     <li>{@code cards}: 1 makes every thread queue behind the same card in {@link PaymentSequencer}.</li>
+ *     <li>{@code accounts}, {@code parallelism} and {@code balanceLatencyMicros}: only the last account has funds,
+ *     so with latency the p99 shows what {@code card.verify-funds.parallelism} saves.</li>
+ *     <li>{@code observed}: stage timers backed by a meter registry instead of the no-op registry.</li>
+ * </ul>
+ * Sample-time mode reports the latency percentiles next to the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class PaymentPipelineBenchmark {
+
+    @Param({"1", "1024"})
+    public int cards;
+
+    @Param({"1", "4"})
+    public int accounts;
+
+    @Param({"1", "4"})
+    public int parallelism;
+
+    @Param({"0", "200"})
+    public long balanceLatencyMicros;
+
+    @Param({"false", "true"})
+    public boolean observed;
+
+    private String[] cardIds;
+    private CardServiceImpl cardService;
+    private InMemoryStubs.Idempotency idempotencyStore;
+    private PaymentRequest payment;
+    private final AtomicLong idempotencyKeys = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        InMemoryStubs.Cards cardRepository = new InMemoryStubs.Cards();
+        cardIds = new String[cards];
+        for (int i = 0; i < cards; i++) {
+            cardIds[i] = "card-" + i;
+            cardRepository.put(Fixtures.card(cardIds[i], accounts));
+        }
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        InMemoryStubs.AccountService accountService = new InMemoryStubs.AccountService(
+                Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(balanceLatencyMicros)),
+                Fixtures.accountId(accounts - 1));
+        AccountBalanceServiceImpl accountBalanceService = new AccountBalanceServiceImpl(accountService,
+                meterRegistry, "http://account-service", false, "/v1/accounts/balances", 50,
+                Duration.ofMillis(5), 16, 10_000, Duration.ofSeconds(2), Duration.ofMinutes(5));
+        PendingPaymentRegistry pendingPayments = new PendingPaymentRegistry(100_000, Duration.ofMinutes(1), 100_000,
+                Duration.ofMinutes(1));
+        FundsReservations fundsReservations = new FundsReservations(Duration.ofSeconds(30));
+        InMemoryStubs.Outbox outbox = new InMemoryStubs.Outbox(event -> {
+            fundsReservations.release(event.getCorrelationId());
+            pendingPayments.complete(Fixtures.orchestratorResponse(event));
+        });
+        idempotencyStore = new InMemoryStubs.Idempotency();
+
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        if (observed) {
+            ObservationRegistry observationRegistry = ObservationRegistry.create();
+            observationRegistry.observationConfig()
+                    .observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+            beans.addBean("observationRegistry", observationRegistry);
+        }
+
+        cardService = new CardServiceImpl(cardRepository, accountService, accountBalanceService, null, outbox,
+                pendingPayments, null, idempotencyStore, new PaymentSequencer(1024), fundsReservations,
+                new InMemoryStubs.PaymentStatuses(),
+                new StageTimer(beans.getBeanProvider(ObservationRegistry.class)),
+                new LogSamplers(new LoggingProperties()));
+        ReflectionTestUtils.setField(cardService, "transactionServiceUrl", "http://transaction-service");
+        ReflectionTestUtils.setField(cardService, "outboxEnabled", true);
+        ReflectionTestUtils.setField(cardService, "paymentResponseTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(cardService, "verifyFundsParallelism", parallelism);
+        ReflectionTestUtils.setField(cardService, "verifyFundsHedgeDelay", Duration.ZERO);
+        payment = Fixtures.payment();
+    }
+
+    @Setup(Level.Iteration)
+    public void clearIdempotencyKeys() {
+        idempotencyStore.clear();
+    }
+
+    @Benchmark
+    public PaymentResponse payment() {
+        return cardService.processPaymentOrWithdrawal(randomCard(), Mono.just(payment), null).block();
+    }
+
+    @Benchmark
+    public PaymentResponse paymentWithIdempotencyKey() {
+        return cardService.processPaymentOrWithdrawal(randomCard(), Mono.just(payment),
+                Long.toString(idempotencyKeys.incrementAndGet())).block();
+    }
+
+    private String randomCard() {
+        return cardIds[ThreadLocalRandom.current().nextInt(cards)];
+    }
+}
@@ -0,0 +1,79 @@
+package com.sgi.card.benchmark;
+
+import com.sgi.card.infrastructure.mapper.CardEventMapper;
+import com.sgi.card.infrastructure.mapper.ExternalOrchestratorDataMapper;
+import com.sgi.card.infrastructure.subscriber.events.BalanceEventResponse;
+import com.sgi.card.infrastructure.subscriber.events.OrchestratorEvent;
+import com.sgi.card.infrastructure.subscriber.events.OrchestratorEventResponse;
+import com.sgi.card.infrastructure.subscriber.message.EventCodec;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.sgi.card.infrastructure.mapper.ObjectMappers.OBJECT_MAPPER;
+
+/**
+ * Event serialization as done by {@code EventSender} and the Kafka consumers, in both supported encodings,
+ * next to a plain {@code OBJECT_MAPPER} round trip through a String as a reference.
+ * Run with {@code -prof gc} to compare allocation per event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"json", "smile"})
+    public String encoding;
+
+    private EventCodec codec;
+    private RecordHeaders headers;
+    private OrchestratorEvent event;
+    private BalanceEventResponse balanceEvent;
+    private byte[] encodedResponse;
+
+    @Setup
+    public void setUp() {
+        codec = new EventCodec(encoding);
+        headers = new RecordHeaders();
+        codec.addContentType(headers, null);
+        event = ExternalOrchestratorDataMapper.INSTANCE.toOrchestratorEvent(Fixtures.card("card-1", 1),
+                Fixtures.balance(Fixtures.accountId(0)), Fixtures.payment());
+        event.setCorrelationId("5f0c2a4e-8d7b-4c1e-9a36-0c3b1f6d2e71");
+        balanceEvent = CardEventMapper.INSTANCE.map(Fixtures.balance(Fixtures.accountId(0)));
+        encodedResponse = codec.encode(Fixtures.orchestratorResponse(event));
+    }
+
+    @Benchmark
+    public byte[] encodeOrchestratorEvent() {
+        return codec.encode(event);
+    }
+
+    @Benchmark
+    public byte[] encodeBalanceEvent() {
+        return codec.encode(balanceEvent);
+    }
+
+    @Benchmark
+    public OrchestratorEventResponse decodeOrchestratorResponse() {
+        return EventCodec.decode(encodedResponse, headers, OrchestratorEventResponse.class);
+    }
+
+    @Benchmark
+    public String objectMapperToString() throws Exception {
+        return OBJECT_MAPPER.writeValueAsString(event);
+    }
+}
@@ -0,0 +1,54 @@
+package com.sgi.card.benchmark;
+
+import com.sgi.card.domain.shared.CardNumberFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.sgi.card.domain.shared.Constants.urlParamsComponentBuilder;
+
+/**
+ * Helpers of {@code domain.shared} called per card or per request: card number formatting, which replaced
+ * the random {@code generateCardNumber}, and the transaction-service url builder.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SharedHelpersBenchmark {
+
+    private static final String BIN = "400000";
+    private static final String TRANSACTION_SERVICE_URL = "http://transaction-service:8080";
+
+    private long sequence;
+
+    @Benchmark
+    public String formatCardNumber() {
+        sequence = (sequence + 1) % CardNumberFormatter.MAX_SEQUENCE;
+        return CardNumberFormatter.format(BIN, sequence);
+    }
+
+    @Benchmark
+    public boolean validateCardNumber() {
+        return CardNumberFormatter.isValid("4000001234567899");
+    }
+
+    @Benchmark
+    public String transactionsUrl() {
+        return urlParamsComponentBuilder(TRANSACTION_SERVICE_URL, "/v1/transactions",
+                Map.of("cardId", "65f1c0e4a1b2c3d4e5f60718",
+                        "page", 0,
+                        "size", 20));
+    }
+}
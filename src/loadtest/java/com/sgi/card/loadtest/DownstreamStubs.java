@@ -0,0 +1,106 @@
+package com.sgi.card.loadtest;
+
+import com.sgi.card.infrastructure.dto.BalanceResponse;
+import com.sgi.card.infrastructure.dto.TransactionResponse;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import lombok.SneakyThrows;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.sgi.card.infrastructure.mapper.ObjectMappers.OBJECT_MAPPER;
+
+/**
+ * Reactor Netty servers standing in for account-service and transaction-service.
+ * Every response is delayed by the configured latency plus a random jitter, without blocking the event loop,
+ * and a configured fraction of requests is answered with an error status instead.
+ */
+final class DownstreamStubs {
+
+    private static final BigDecimal FUNDS = new BigDecimal("1000000000");
+
+    private DownstreamStubs() {
+    }
+
+    static DisposableServer accountService(LoadTestSettings.Downstream settings) {
+        return HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        .get("/v1/accounts/{accountId}/balance", (request, response) ->
+                                respond(settings, response, balance(request.param("accountId"))))
+                        .post("/v1/accounts/balances", (request, response) -> request.receive()
+                                .aggregate()
+                                .asByteArray()
+                                .map(DownstreamStubs::balances)
+                                .flatMap(balances -> respond(settings, response, balances))))
+                .bindNow();
+    }
+
+    static DisposableServer transactionService(LoadTestSettings.Downstream settings) {
+        byte[] page = json(transactions(settings.transactions()));
+        return HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        .get("/v1/transactions", (request, response) -> respond(settings, response, page)))
+                .bindNow();
+    }
+
+    private static Mono<Void> respond(LoadTestSettings.Downstream settings, HttpServerResponse response,
+                                      Object body) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long jitter = settings.jitter().toNanos();
+        Duration delay = settings.latency().plusNanos(jitter > 0 ? random.nextLong(jitter) : 0);
+        boolean fail = random.nextDouble() < settings.errorRate();
+        byte[] bytes = body instanceof byte[] encoded ? encoded : json(body);
+        return Mono.delay(delay)
+                .then(fail
+                        ? response.status(settings.errorStatus()).send()
+                        : response.header(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+                        .send(Mono.just(Unpooled.wrappedBuffer(bytes)))
+                        .then());
+    }
+
+    private static BalanceResponse balance(String accountId) {
+        return new BalanceResponse()
+                .accountId(accountId)
+                .clientId("load-test")
+                .accountBalance(FUNDS);
+    }
+
+    @SneakyThrows
+    private static List<BalanceResponse> balances(byte[] body) {
+        Map<?, ?> request = OBJECT_MAPPER.readValue(body, Map.class);
+        List<BalanceResponse> balances = new ArrayList<>();
+        for (Object accountId : (List<?>) request.get("accountIds")) {
+            balances.add(balance(String.valueOf(accountId)));
+        }
+        return balances;
+    }
+
+    private static List<TransactionResponse> transactions(int count) {
+        List<TransactionResponse> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactions.add(new TransactionResponse()
+                    .id("transaction-" + i)
+                    .productId("product-" + i)
+                    .clientId("load-test")
+                    .amount(BigDecimal.TEN));
+        }
+        return transactions;
+    }
+
+    @SneakyThrows
+    private static byte[] json(Object value) {
+        return OBJECT_MAPPER.writeValueAsBytes(value);
+    }
+}
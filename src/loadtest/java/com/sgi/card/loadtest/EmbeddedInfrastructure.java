@@ -0,0 +1,88 @@
+package com.sgi.card.loadtest;
+
+import com.sgi.card.infrastructure.repository.LocalMongod;
+import com.sgi.card.infrastructure.subscriber.events.BalanceEvent;
+import com.sgi.card.infrastructure.subscriber.events.CardChangedEvent;
+import com.sgi.card.infrastructure.subscriber.events.OrchestratorEventResponse;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * MongoDB and Kafka for the run: the configured ones when {@code loadtest.mongo-uri} or
+ * {@code loadtest.kafka-bootstrap-servers} are set, otherwise a local mongod and an embedded single-node KRaft
+ * broker with the service topics created up front.
+ * The mongod is the binary given by {@code loadtest.mongod-path}, {@code -Dmongod.path}, {@code MONGOD_PATH} or
+ * found on the {@code PATH}, so a machine with MongoDB installed runs fully offline. Only when none is found is
+ * a mongod downloaded by flapdoodle into {@code ~/.embedmongo}, which needs network access on the first run.
+ */
+final class EmbeddedInfrastructure implements AutoCloseable {
+
+    private static final int PARTITIONS = 8;
+
+    private final TransitionWalker.ReachedState<RunningMongodProcess> downloadedMongod;
+    private final LocalMongod localMongod;
+    private final EmbeddedKafkaBroker kafka;
+    private final String mongoUri;
+    private final String kafkaBootstrapServers;
+
+    EmbeddedInfrastructure(LoadTestSettings settings) {
+        Optional<Path> mongodBinary = LocalMongod.find(settings.mongodPath());
+        if (StringUtils.hasText(settings.mongodPath()) && mongodBinary.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mongod-path is not an executable: " + settings.mongodPath());
+        }
+        if (StringUtils.hasText(settings.mongoUri())) {
+            this.downloadedMongod = null;
+            this.localMongod = null;
+            this.mongoUri = settings.mongoUri();
+        } else if (mongodBinary.isPresent()) {
+            this.downloadedMongod = null;
+            this.localMongod = LocalMongod.start(mongodBinary.get());
+            this.mongoUri = localMongod.uri("card");
+        } else {
+            this.downloadedMongod = Mongod.instance().start(Version.Main.V7_0);
+            this.localMongod = null;
+            ServerAddress address = downloadedMongod.current().getServerAddress();
+            this.mongoUri = "mongodb://" + address.getHost() + ":" + address.getPort() + "/card";
+        }
+        if (StringUtils.hasText(settings.kafkaBootstrapServers())) {
+            this.kafka = null;
+            this.kafkaBootstrapServers = settings.kafkaBootstrapServers();
+        } else {
+            this.kafka = new EmbeddedKafkaKraftBroker(1, PARTITIONS,
+                    StubOrchestrator.EVENT_TOPIC, OrchestratorEventResponse.TOPIC,
+                    BalanceEvent.TOPIC, CardChangedEvent.TOPIC);
+            this.kafka.afterPropertiesSet();
+            this.kafkaBootstrapServers = kafka.getBrokersAsString();
+        }
+    }
+
+    String mongoUri() {
+        return mongoUri;
+    }
+
+    String kafkaBootstrapServers() {
+        return kafkaBootstrapServers;
+    }
+
+    @Override
+    public void close() {
+        if (kafka != null) {
+            kafka.destroy();
+        }
+        if (downloadedMongod != null) {
+            downloadedMongod.close();
+        }
+        if (localMongod != null) {
+            localMongod.close();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.sgi.card.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * {@code V1Api} operations the load driver can call, named as in {@code loadtest.mix}.
+ */
+public enum Endpoint {
+
+    CREATE_CARD("create-card", "POST /v1/cards"),
+    GET_CARD("get-card", "GET /v1/cards/{cardId}"),
+    BALANCE("balance", "GET /v1/cards/{cardId}/primary-account-balance"),
+    PAYMENT("payment", "POST /v1/cards/{cardId}/transaction"),
+    TRANSACTIONS("transactions", "GET /v1/cards/{cardId}/transaction");
+
+    private final String key;
+    private final String route;
+
+    Endpoint(String key, String route) {
+        this.key = key;
+        this.route = route;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public String route() {
+        return route;
+    }
+
+    public static Endpoint of(String key) {
+        return Arrays.stream(values())
+                .filter(endpoint -> endpoint.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint: " + key));
+    }
+}
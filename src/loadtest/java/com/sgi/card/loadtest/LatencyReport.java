@@ -0,0 +1,94 @@
+package com.sgi.card.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome of every measured request, per endpoint.
+ * Latencies are recorded in microseconds from the time the request was scheduled to be sent, so time spent
+ * queued behind a slow service counts against it instead of being hidden by a slower send rate.
+ * Error responses are included in the latencies and also counted as errors.
+ */
+final class LatencyReport {
+
+    private static final String ROW = "%-14s %10s %10s %8s %8s %8s %10s %10s %10s %10s%n";
+
+    private final Map<Endpoint, Stats> stats = new EnumMap<>(Endpoint.class);
+
+    LatencyReport() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new Stats());
+        }
+    }
+
+    void record(Endpoint endpoint, long latencyNanos, boolean error) {
+        Stats endpointStats = stats.get(endpoint);
+        endpointStats.latencies.recordValue(Math.max(1, latencyNanos / 1_000));
+        if (error) {
+            endpointStats.errors.increment();
+        }
+    }
+
+    void dropped(Endpoint endpoint) {
+        stats.get(endpoint).dropped.increment();
+    }
+
+    String render(LoadTestSettings settings) {
+        double seconds = settings.duration().toMillis() / 1000.0;
+        StringBuilder report = new StringBuilder()
+                .append(String.format("Load test: %d rps for %s after %s warmup, %d cards, mix %s%n",
+                        settings.rps(), settings.duration(), settings.warmup(), settings.cards(), settings.mix()))
+                .append(String.format(ROW, "endpoint", "requests", "rps", "errors", "error%", "dropped",
+                        "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        Histogram total = null;
+        long totalErrors = 0;
+        long totalDropped = 0;
+        for (Map.Entry<Endpoint, Stats> entry : stats.entrySet()) {
+            Histogram histogram = entry.getValue().latencies.getIntervalHistogram();
+            long errors = entry.getValue().errors.sum();
+            long dropped = entry.getValue().dropped.sum();
+            if (histogram.getTotalCount() == 0 && dropped == 0) {
+                continue;
+            }
+            report.append(row(entry.getKey().key(), histogram, errors, dropped, seconds));
+            if (total == null) {
+                total = histogram.copy();
+            } else {
+                total.add(histogram);
+            }
+            totalErrors += errors;
+            totalDropped += dropped;
+        }
+        if (total != null) {
+            report.append(row("total", total, totalErrors, totalDropped, seconds));
+        }
+        return report.toString();
+    }
+
+    private static String row(String name, Histogram histogram, long errors, long dropped, double seconds) {
+        long requests = histogram.getTotalCount();
+        return String.format(ROW, name, requests,
+                String.format("%.1f", requests / seconds),
+                errors,
+                String.format("%.2f", requests == 0 ? 0.0 : 100.0 * errors / requests),
+                dropped,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.2f", micros / 1_000.0);
+    }
+
+    private static final class Stats {
+        private final Recorder latencies = new Recorder(3);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+    }
+}
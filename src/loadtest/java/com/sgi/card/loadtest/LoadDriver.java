@@ -0,0 +1,145 @@
+package com.sgi.card.loadtest;
+
+import com.sgi.card.infrastructure.dto.CardRequest;
+import com.sgi.card.infrastructure.dto.PaymentRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends requests at a fixed rate, whatever the response times (an open workload): request {@code n} is due
+ * {@code n / rps} seconds after the start and is sent on the first tick after that, without waiting for
+ * earlier responses. Requests due while {@code loadtest.max-in-flight} responses are pending are dropped and
+ * counted. Only requests due after the warmup are recorded.
+ */
+final class LoadDriver {
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final long TICK_MICROS = 500;
+
+    private final WebClient client;
+    private final LoadTestSettings settings;
+    private final List<String> cardIds;
+    private final LatencyReport report;
+    private final Endpoint[] wheel;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final PaymentRequest payment = new PaymentRequest()
+            .type(PaymentRequest.TypeEnum.PAYMENT)
+            .amount(new BigDecimal("1.00"));
+
+    LoadDriver(WebClient client, LoadTestSettings settings, List<String> cardIds, LatencyReport report) {
+        this.client = client;
+        this.settings = settings;
+        this.cardIds = cardIds;
+        this.report = report;
+        this.wheel = wheel(settings.weights());
+    }
+
+    void run() throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.rps();
+        long warmupRequests = settings.warmup().toNanos() / intervalNanos;
+        long totalRequests = warmupRequests + settings.duration().toNanos() / intervalNanos;
+        long start = System.nanoTime();
+        AtomicLong sent = new AtomicLong();
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(
+                runnable -> new Thread(runnable, "load-driver"));
+        try {
+            ticker.scheduleAtFixedRate(() -> {
+                long due = Math.min(totalRequests, (System.nanoTime() - start) / intervalNanos + 1);
+                for (long next = sent.get(); next < due; next = sent.incrementAndGet()) {
+                    send(start + next * intervalNanos, next >= warmupRequests);
+                }
+            }, 0, TICK_MICROS, TimeUnit.MICROSECONDS);
+            long end = start + totalRequests * intervalNanos;
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, end - System.nanoTime()));
+        } finally {
+            ticker.shutdown();
+            ticker.awaitTermination(1, TimeUnit.SECONDS);
+        }
+        long drainDeadline = System.nanoTime() + settings.requestTimeout().toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+    }
+
+    private void send(long scheduledAt, boolean measured) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Endpoint endpoint = wheel[random.nextInt(wheel.length)];
+        if (inFlight.get() >= settings.maxInFlight()) {
+            if (measured) {
+                report.dropped(endpoint);
+            }
+            return;
+        }
+        inFlight.incrementAndGet();
+        call(endpoint, cardIds.get(random.nextInt(cardIds.size())))
+                .timeout(settings.requestTimeout())
+                .map(HttpStatusCode::isError)
+                .onErrorReturn(true)
+                .subscribe(error -> {
+                    inFlight.decrementAndGet();
+                    if (measured) {
+                        report.record(endpoint, System.nanoTime() - scheduledAt, error);
+                    }
+                });
+    }
+
+    private Mono<HttpStatusCode> call(Endpoint endpoint, String cardId) {
+        WebClient.RequestHeadersSpec<?> request = switch (endpoint) {
+            case CREATE_CARD -> client.post()
+                    .uri("/v1/cards")
+                    .bodyValue(cardRequest("account-" + UUID.randomUUID()));
+            case GET_CARD -> client.get()
+                    .uri("/v1/cards/{cardId}", cardId);
+            case BALANCE -> client.get()
+                    .uri("/v1/cards/{cardId}/primary-account-balance", cardId);
+            case PAYMENT -> client.post()
+                    .uri("/v1/cards/{cardId}/transaction", cardId)
+                    .headers(headers -> {
+                        if (settings.idempotencyKeys()) {
+                            headers.set(IDEMPOTENCY_KEY, UUID.randomUUID().toString());
+                        }
+                    })
+                    .bodyValue(payment);
+            case TRANSACTIONS -> client.get()
+                    .uri("/v1/cards/{cardId}/transaction?page={page}&size={size}",
+                            Map.of("cardId", cardId, "page", 0, "size", 20));
+        };
+        return request.exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode()));
+    }
+
+    static CardRequest cardRequest(String mainAccountId) {
+        return new CardRequest()
+                .cardNumber("0000000000000000")
+                .expirationDate(OffsetDateTime.now().plusYears(5))
+                .type(CardRequest.TypeEnum.DEBIT)
+                .mainAccountId(mainAccountId)
+                .clientId("load-test");
+    }
+
+    private static Endpoint[] wheel(Map<Endpoint, Integer> weights) {
+        List<Endpoint> wheel = new ArrayList<>();
+        weights.forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                wheel.add(endpoint);
+            }
+        });
+        if (wheel.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix has no endpoint with a positive weight");
+        }
+        return wheel.toArray(Endpoint[]::new);
+    }
+}
@@ -0,0 +1,167 @@
+package com.sgi.card.loadtest;
+
+import com.sgi.card.CardApplication;
+import com.sgi.card.infrastructure.dto.AccountsRequest;
+import com.sgi.card.infrastructure.dto.CardResponse;
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots the service against local stand-ins and drives its {@code V1Api} endpoints at a fixed rate:
+ * embedded MongoDB and Kafka (see {@link EmbeddedInfrastructure}), stub account-service and transaction-service
+ * servers (see {@link DownstreamStubs}) and a stub orchestrator answering payments (see {@link StubOrchestrator}).
+ * <p>
+ * Arguments are {@code name=value} pairs, optionally prefixed with {@code --}. {@code loadtest.*} ones configure
+ * the run (see {@link LoadTestSettings}); any other one is passed to the service, e.g.
+ * {@code card.verify-funds.parallelism=4}. The report is printed and written to {@code loadtest.report}.
+ */
+public final class LoadTestRunner {
+
+    private static final String PREFIX = "loadtest.";
+    private static final int SEED_CONCURRENCY = 32;
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> serviceArgs = new LinkedHashMap<>();
+        LoadTestSettings settings = parse(args, serviceArgs);
+
+        DisposableServer accountService = DownstreamStubs.accountService(settings.accountService());
+        DisposableServer transactionService = DownstreamStubs.transactionService(settings.transactionService());
+        try (EmbeddedInfrastructure infrastructure = new EmbeddedInfrastructure(settings);
+             StubOrchestrator orchestrator = new StubOrchestrator(infrastructure.kafkaBootstrapServers(),
+                     settings.orchestrator());
+             ConfigurableApplicationContext service = new SpringApplicationBuilder(CardApplication.class)
+                     .run(serviceArgs(infrastructure, accountService, transactionService, serviceArgs))) {
+            int port = ((WebServerApplicationContext) service).getWebServer().getPort();
+            WebClient client = client(port, settings);
+            List<String> cardIds = seed(client, settings);
+            LatencyReport report = new LatencyReport();
+            new LoadDriver(client, settings, cardIds, report).run();
+            String rendered = report.render(settings);
+            writeReport(settings.report(), rendered);
+        } finally {
+            accountService.disposeNow();
+            transactionService.disposeNow();
+        }
+    }
+
+    /**
+     * Binds the {@code loadtest.*} arguments and collects the others into {@code serviceArgs}.
+     */
+    static LoadTestSettings parse(String[] args, Map<String, String> serviceArgs) {
+        Map<String, String> loadTestArgs = new LinkedHashMap<>();
+        for (String arg : args) {
+            String pair = arg.startsWith("--") ? arg.substring(2) : arg;
+            int separator = pair.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected name=value, got " + arg);
+            }
+            String name = pair.substring(0, separator);
+            String value = pair.substring(separator + 1);
+            (name.startsWith(PREFIX) ? loadTestArgs : serviceArgs).put(name, value);
+        }
+        return new Binder(new MapConfigurationPropertySource(loadTestArgs))
+                .bindOrCreate("loadtest", LoadTestSettings.class);
+    }
+
+    /**
+     * Prints the report and writes it to {@code file}.
+     */
+    static void writeReport(String file, String rendered) throws IOException {
+        System.out.print(rendered);
+        Path reportFile = Path.of(file);
+        if (reportFile.getParent() != null) {
+            Files.createDirectories(reportFile.getParent());
+        }
+        Files.writeString(reportFile, rendered);
+    }
+
+    /**
+     * Service settings pointing at the stand-ins; arguments given on the command line take precedence.
+     * Tracing is not sampled and only warnings are logged, so neither competes with the load for CPU.
+     */
+    static String[] serviceArgs(EmbeddedInfrastructure infrastructure, DisposableServer accountService,
+                                        DisposableServer transactionService, Map<String, String> overrides) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("eureka.client.enabled", "false");
+        properties.put("spring.data.mongodb.uri", infrastructure.mongoUri());
+        properties.put("spring.kafka.bootstrap-servers", infrastructure.kafkaBootstrapServers());
+        properties.put("feign.client.config.account-service.url", "http://localhost:" + accountService.port());
+        properties.put("feign.client.config.transaction-service.url",
+                "http://localhost:" + transactionService.port());
+        properties.put("management.tracing.sampling.probability", "0");
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(overrides);
+        return properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+    }
+
+    private static WebClient client(int port, LoadTestSettings settings) {
+        ConnectionProvider connections = ConnectionProvider.builder("load-driver")
+                .maxConnections(settings.maxInFlight())
+                .pendingAcquireMaxCount(-1)
+                .build();
+        HttpClient httpClient = HttpClient.create(connections)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 2_000);
+        return WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    /**
+     * Creates the cards used by the run through the API, each with {@code loadtest.accounts-per-card} accounts.
+     */
+    private static List<String> seed(WebClient client, LoadTestSettings settings) {
+        return Flux.range(0, settings.cards())
+                .flatMap(card -> client.post()
+                        .uri("/v1/cards")
+                        .bodyValue(LoadDriver.cardRequest("account-" + card + "-0"))
+                        .retrieve()
+                        .bodyToMono(CardResponse.class)
+                        .flatMap(created -> associate(client, created.getId(), card, settings.accountsPerCard())),
+                        SEED_CONCURRENCY)
+                .collectList()
+                .block(Duration.ofMinutes(5));
+    }
+
+    private static Mono<String> associate(WebClient client, String cardId, int card, int accounts) {
+        if (accounts <= 1) {
+            return Mono.just(cardId);
+        }
+        List<String> accountIds = new ArrayList<>(accounts - 1);
+        for (int i = 1; i < accounts; i++) {
+            accountIds.add("account-" + card + "-" + i);
+        }
+        return client.post()
+                .uri("/v1/cards/{cardId}/accounts/associate", cardId)
+                .bodyValue(new AccountsRequest().accountIds(accountIds))
+                .retrieve()
+                .toBodilessEntity()
+                .thenReturn(cardId);
+    }
+}
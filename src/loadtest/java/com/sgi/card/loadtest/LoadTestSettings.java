@@ -0,0 +1,97 @@
+package com.sgi.card.loadtest;
+
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test settings, bound from the {@code loadtest.*} arguments of {@link LoadTestRunner}.
+ *
+ * @param rps                   requests per second sent to the service, whatever its response times
+ * @param duration              measured part of the run
+ * @param warmup                time the load runs before measurement starts
+ * @param cards                 cards created before the run; requests pick one at random
+ * @param accountsPerCard       accounts associated with each card, which payments verify in order
+ * @param maxInFlight           requests waiting for a response above which new ones are dropped and counted
+ * @param requestTimeout        time after which a request is counted as failed
+ * @param idempotencyKeys       whether payments carry a unique {@code Idempotency-Key}
+ * @param mix                   relative weight of each endpoint, as {@code name:weight} pairs
+ * @param accountService        behaviour of the account-service stub
+ * @param transactionService    behaviour of the transaction-service stub
+ * @param orchestrator          behaviour of the orchestrator stub
+ * @param outbox                backlog relayed by {@link OutboxThroughputRunner}
+ * @param mongoUri              existing MongoDB to use instead of the embedded one
+ * @param mongodPath            preinstalled mongod binary to run instead of downloading one
+ * @param kafkaBootstrapServers existing Kafka to use instead of the embedded one
+ * @param report                file the report is also written to
+ */
+public record LoadTestSettings(
+        @DefaultValue("200") int rps,
+        @DefaultValue("60s") Duration duration,
+        @DefaultValue("10s") Duration warmup,
+        @DefaultValue("100") int cards,
+        @DefaultValue("1") int accountsPerCard,
+        @DefaultValue("2000") int maxInFlight,
+        @DefaultValue("10s") Duration requestTimeout,
+        @DefaultValue("true") boolean idempotencyKeys,
+        @DefaultValue("get-card:30,balance:20,payment:30,transactions:20") String mix,
+        @DefaultValue Downstream accountService,
+        @DefaultValue Downstream transactionService,
+        @DefaultValue Orchestrator orchestrator,
+        @DefaultValue Outbox outbox,
+        String mongoUri,
+        String mongodPath,
+        String kafkaBootstrapServers,
+        @DefaultValue("target/load-test-report.txt") String report) {
+
+    /**
+     * @param latency      minimum response time of the stub
+     * @param jitter       random extra response time, up to this value
+     * @param errorRate    fraction of requests answered with {@code errorStatus}
+     * @param errorStatus  HTTP status of injected errors
+     * @param transactions transactions returned per page, for transaction-service
+     */
+    public record Downstream(
+            @DefaultValue("5ms") Duration latency,
+            @DefaultValue("5ms") Duration jitter,
+            @DefaultValue("0") double errorRate,
+            @DefaultValue("503") int errorStatus,
+            @DefaultValue("20") int transactions) {
+    }
+
+    /**
+     * @param latency     time before the orchestrator answers a payment event
+     * @param failureRate fraction of payments answered as {@code FAILED}
+     */
+    public record Orchestrator(
+            @DefaultValue("10ms") Duration latency,
+            @DefaultValue("0") double failureRate) {
+    }
+
+    /**
+     * @param events  events enqueued into the outbox
+     * @param keys    cards the events are spread over, round robin
+     * @param timeout time the relay gets to drain the outbox
+     * @param report  file the outbox report is also written to
+     */
+    public record Outbox(
+            @DefaultValue("100000") int events,
+            @DefaultValue("1000") int keys,
+            @DefaultValue("5m") Duration timeout,
+            @DefaultValue("target/outbox-throughput-report.txt") String report) {
+    }
+
+    public Map<Endpoint, Integer> weights() {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + entry);
+            }
+            weights.put(Endpoint.of(pair[0].trim()), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,112 @@
+package com.sgi.card.loadtest;
+
+import com.sgi.card.CardApplication;
+import com.sgi.card.domain.model.OutboxEvent;
+import com.sgi.card.domain.ports.out.EventOutbox;
+import com.sgi.card.infrastructure.subscriber.events.OrchestratorEvent;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast the outbox relay drains a backlog into Kafka: boots the service against the same stand-ins
+ * as {@link LoadTestRunner}, enqueues {@code loadtest.outbox.events} payment events spread over
+ * {@code loadtest.outbox.keys} cards straight into the outbox, and times until the relay has removed them all,
+ * which it only does once the broker acknowledged them.
+ * Arguments are the same as for {@link LoadTestRunner}, e.g. {@code card.outbox.batch-size=1000}.
+ * The report is printed and written to {@code loadtest.outbox.report}.
+ */
+public final class OutboxThroughputRunner {
+
+    private static final int ENQUEUE_CONCURRENCY = 64;
+    private static final long POLL_MILLIS = 20;
+
+    private OutboxThroughputRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> serviceArgs = new LinkedHashMap<>();
+        LoadTestSettings settings = LoadTestRunner.parse(args, serviceArgs);
+        LoadTestSettings.Outbox outbox = settings.outbox();
+
+        DisposableServer accountService = DownstreamStubs.accountService(settings.accountService());
+        DisposableServer transactionService = DownstreamStubs.transactionService(settings.transactionService());
+        try (EmbeddedInfrastructure infrastructure = new EmbeddedInfrastructure(settings);
+             ConfigurableApplicationContext service = new SpringApplicationBuilder(CardApplication.class)
+                     .run(LoadTestRunner.serviceArgs(infrastructure, accountService, transactionService,
+                             serviceArgs))) {
+            EventOutbox eventOutbox = service.getBean(EventOutbox.class);
+            ReactiveMongoTemplate mongoTemplate = service.getBean(ReactiveMongoTemplate.class);
+
+            long start = System.nanoTime();
+            Flux.range(0, outbox.events())
+                    .flatMap(i -> eventOutbox.enqueue("card-" + i % outbox.keys(), event(i, outbox.keys())),
+                            ENQUEUE_CONCURRENCY)
+                    .blockLast();
+            long enqueued = System.nanoTime();
+            long remaining = awaitDrained(mongoTemplate, start + outbox.timeout().toNanos());
+            long drained = System.nanoTime();
+
+            LoadTestRunner.writeReport(outbox.report(),
+                    render(outbox, enqueued - start, drained - start, remaining, serviceArgs));
+            if (remaining > 0) {
+                throw new IllegalStateException(remaining + " events were still queued after " + outbox.timeout());
+            }
+        } finally {
+            accountService.disposeNow();
+            transactionService.disposeNow();
+        }
+    }
+
+    private static OrchestratorEvent event(int sequence, int keys) {
+        return OrchestratorEvent.builder()
+                .correlationId("outbox-" + sequence)
+                .cardId("card-" + sequence % keys)
+                .accountId("account-" + sequence % keys)
+                .clientId("client-1")
+                .type("PAYMENT")
+                .amount(BigDecimal.TEN)
+                .balance(BigDecimal.valueOf(1_000))
+                .build();
+    }
+
+    /**
+     * @return events still queued at {@code deadlineNanos}, or 0 once the outbox is empty.
+     */
+    private static long awaitDrained(ReactiveMongoTemplate mongoTemplate, long deadlineNanos)
+            throws InterruptedException {
+        while (true) {
+            long remaining = mongoTemplate.count(new Query(), OutboxEvent.class).block(Duration.ofSeconds(10));
+            if (remaining == 0 || System.nanoTime() > deadlineNanos) {
+                return remaining;
+            }
+            Thread.sleep(POLL_MILLIS);
+        }
+    }
+
+    private static String render(LoadTestSettings.Outbox outbox, long enqueueNanos, long drainNanos,
+                                 long remaining, Map<String, String> serviceArgs) {
+        long relayed = outbox.events() - remaining;
+        return String.format("Outbox throughput: %d events over %d keys%s%n", outbox.events(), outbox.keys(),
+                serviceArgs.isEmpty() ? "" : " " + serviceArgs)
+                + String.format("%-22s %12s %14s%n", "phase", "time (ms)", "events/s")
+                + String.format("%-22s %12d %14.0f%n", "enqueue", TimeUnit.NANOSECONDS.toMillis(enqueueNanos),
+                perSecond(outbox.events(), enqueueNanos))
+                + String.format("%-22s %12d %14.0f%n", "enqueue + relay", TimeUnit.NANOSECONDS.toMillis(drainNanos),
+                perSecond(relayed, drainNanos))
+                + (remaining > 0 ? String.format("not relayed: %d%n", remaining) : "");
+    }
+
+    private static double perSecond(long events, long nanos) {
+        return nanos == 0 ? 0 : events * 1e9 / nanos;
+    }
+}
@@ -0,0 +1,85 @@
+package com.sgi.card.loadtest;
+
+import com.sgi.card.infrastructure.subscriber.events.OrchestratorEvent;
+import com.sgi.card.infrastructure.subscriber.events.OrchestratorEventResponse;
+import com.sgi.card.infrastructure.subscriber.message.EventCodec;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOffset;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderOptions;
+import reactor.kafka.sender.SenderRecord;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Answers every payment event published by the service on its response topic after the configured latency,
+ * completing or failing it, so payments follow the same path as in production instead of timing out as pending.
+ */
+final class StubOrchestrator implements AutoCloseable {
+
+    static final String EVENT_TOPIC = OrchestratorEvent.class.getSimpleName();
+    private static final String COMPLETED = "COMPLETED";
+    private static final String FAILED = "FAILED";
+
+    private final KafkaSender<String, byte[]> sender;
+    private final Disposable subscription;
+    private final EventCodec codec = new EventCodec("json");
+
+    StubOrchestrator(String bootstrapServers, LoadTestSettings.Orchestrator settings) {
+        ReceiverOptions<String, byte[]> receiverOptions = ReceiverOptions.<String, byte[]>create(Map.of(
+                        ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                        ConsumerConfig.GROUP_ID_CONFIG, "load-test-orchestrator",
+                        ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest",
+                        ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                        ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class))
+                .subscription(List.of(EVENT_TOPIC));
+        this.sender = KafkaSender.create(SenderOptions.<String, byte[]>create(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ProducerConfig.LINGER_MS_CONFIG, 1,
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class)));
+        this.subscription = sender.send(KafkaReceiver.create(receiverOptions)
+                        .receive()
+                        .flatMap(record -> Mono.delay(settings.latency())
+                                .map(tick -> answer(record, settings.failureRate()))))
+                .subscribe(result -> result.correlationMetadata().acknowledge());
+    }
+
+    private SenderRecord<String, byte[], ReceiverOffset> answer(ReceiverRecord<String, byte[]> record,
+                                                                double failureRate) {
+        OrchestratorEvent event = EventCodec.decode(record.value(), record.headers(), OrchestratorEvent.class);
+        OrchestratorEventResponse response = OrchestratorEventResponse.builder()
+                .correlationId(event.getCorrelationId())
+                .cardId(event.getCardId())
+                .accountId(event.getAccountId())
+                .clientId(event.getClientId())
+                .type(event.getType())
+                .status(ThreadLocalRandom.current().nextDouble() < failureRate ? FAILED : COMPLETED)
+                .amount(event.getAmount())
+                .balance(event.getBalance())
+                .build();
+        ProducerRecord<String, byte[]> reply = new ProducerRecord<>(OrchestratorEventResponse.TOPIC,
+                event.getCardId(), codec.encode(response));
+        codec.addContentType(reply.headers(), null);
+        return SenderRecord.create(reply, record.receiverOffset());
+    }
+
+    @Override
+    public void close() {
+        subscription.dispose();
+        sender.close();
+    }
+}
@@ -1,5 +1,14 @@
 package com.sgi.card.application.service;
 
+import com.sgi.card.infrastructure.subscriber.events.CardChangedEvent;
+import com.sgi.card.infrastructure.subscriber.events.OrchestratorEventResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
 public interface CardEventService {
     void getBalanceEvent(String cardId);
+    Mono<Void> publishBalanceEvents(Collection<String> cardIds);
+    void cardChanged(CardChangedEvent event);
+    void orchestratorResult(OrchestratorEventResponse response);
 }
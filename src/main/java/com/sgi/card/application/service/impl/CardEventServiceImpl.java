@@ -2,15 +2,36 @@ package com.sgi.card.application.service.impl;
 
 import com.sgi.card.application.service.CardEventService;
 import com.sgi.card.domain.ports.in.CardService;
+import com.sgi.card.domain.ports.out.AccountBalanceService;
+import com.sgi.card.domain.ports.out.CardCache;
+import com.sgi.card.domain.ports.out.PaymentStatusStore;
+import com.sgi.card.infrastructure.config.InstanceIdentity;
+import com.sgi.card.infrastructure.logging.LogSamplers;
 import com.sgi.card.infrastructure.mapper.CardEventMapper;
+import com.sgi.card.infrastructure.mapper.ExternalOrchestratorDataMapper;
+import com.sgi.card.infrastructure.subscriber.events.CardChangedEvent;
+import com.sgi.card.infrastructure.subscriber.events.OrchestratorEventResponse;
 import com.sgi.card.infrastructure.subscriber.message.EventSender;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.concurrent.CompletableFuture;
+
+import static com.sgi.card.domain.shared.Constants.BALANCE_EVENT_ERROR;
 import static com.sgi.card.domain.shared.Constants.ERROR_KAFKA_MESSAGE;
+import static com.sgi.card.domain.shared.Constants.KAFKA_BATCH_MESSAGE;
 import static com.sgi.card.domain.shared.Constants.KAFKA_MESSAGE;
+import static com.sgi.card.domain.shared.Constants.KAFKA_SAMPLED_MESSAGE;
+import static com.sgi.card.domain.shared.Constants.PAYMENT_STATUS_ERROR;
+import static com.sgi.card.domain.shared.Constants.TOPIC_ORCHESTRATOR;
+import static com.sgi.card.domain.shared.Constants.TOPIC_ORCHESTRATOR_SAMPLED;
+import static net.logstash.logback.argument.StructuredArguments.kv;
 
 @Service
 @RequiredArgsConstructor
@@ -21,15 +42,93 @@ public class CardEventServiceImpl implements CardEventService {
 
     private final EventSender kafkaTemplate;
 
+    private final CardCache cardCache;
+
+    private final AccountBalanceService accountBalanceService;
+
+    private final PendingPaymentRegistry pendingPayments;
+
+    private final FundsReservations fundsReservations;
+
+    private final PaymentStatusStore paymentStatusStore;
+
+    private final InstanceIdentity instanceIdentity;
+
+    private final LogSamplers logSamplers;
+
+    @Value("${card.kafka.balance.concurrency:32}")
+    private int balanceConcurrency;
+
     @Override
     public void getBalanceEvent(String cardId) {
         cardService.getPrimaryAccountBalance(cardId)
                 .map(CardEventMapper.INSTANCE::map)
                 .flatMap(event -> Mono.fromFuture(() -> kafkaTemplate.sendEvent(event)))
-                .doOnSuccess(result -> log.info(KAFKA_MESSAGE, result))
+                .doOnNext(result -> {
+                    if (log.isDebugEnabled()) {
+                        log.debug(KAFKA_MESSAGE, result.getRecordMetadata());
+                    } else if (logSamplers.forCategory(LogSamplers.KAFKA).sample()) {
+                        var metadata = result.getRecordMetadata();
+                        log.info(KAFKA_SAMPLED_MESSAGE, kv("topic", metadata.topic()),
+                                kv("partition", metadata.partition()), kv("offset", metadata.offset()));
+                    }
+                })
                 .doOnError(error -> log.error(ERROR_KAFKA_MESSAGE))
                 .subscribe();
     }
 
+    /**
+     * Resolves the balance of every distinct card in the batch with bounded concurrency and hands all the
+     * responses to the producer together, so they travel in the same producer batch.
+     * Cards whose balance cannot be resolved are skipped; the returned Mono fails only when publishing fails.
+     */
+    @Override
+    public Mono<Void> publishBalanceEvents(Collection<String> cardIds) {
+        return Flux.fromIterable(new LinkedHashSet<>(cardIds))
+                .flatMap(cardId -> cardService.getPrimaryAccountBalance(cardId)
+                        .map(CardEventMapper.INSTANCE::map)
+                        .onErrorResume(error -> {
+                            log.error(BALANCE_EVENT_ERROR, cardId, error);
+                            return Mono.empty();
+                        }), Math.max(1, balanceConcurrency))
+                .collectList()
+                .flatMap(events -> Mono.fromFuture(CompletableFuture.allOf(events.stream()
+                                .map(event -> kafkaTemplate.sendEvent(event.cardId(), event))
+                                .toArray(CompletableFuture[]::new)))
+                        .doOnSuccess(result -> log.info(KAFKA_BATCH_MESSAGE, events.size(), cardIds.size())))
+                .doOnError(error -> log.error(ERROR_KAFKA_MESSAGE, error))
+                .then();
+    }
+
+    @Override
+    public void cardChanged(CardChangedEvent event) {
+        if (!instanceIdentity.getId().equals(event.origin())) {
+            cardCache.evict(event.versions());
+        }
+    }
 
+    /**
+     * Completes the payment waiting for this orchestrator result, and records it in the shared status store when
+     * this instance had answered the payment as pending. The result payload is only logged at DEBUG;
+     * at INFO one result out of every {@code card.logging.sample-rate.orchestrator} is logged with its status.
+     */
+    @Override
+    public void orchestratorResult(OrchestratorEventResponse response) {
+        if (log.isDebugEnabled()) {
+            log.debug(TOPIC_ORCHESTRATOR, OrchestratorEventResponse.TOPIC, response, response.getStatus());
+        } else if (logSamplers.forCategory(LogSamplers.ORCHESTRATOR).sample()) {
+            log.info(TOPIC_ORCHESTRATOR_SAMPLED, kv("topic", OrchestratorEventResponse.TOPIC),
+                    kv("status", response.getStatus()));
+        }
+        accountBalanceService.evict(response.getAccountId());
+        fundsReservations.release(response.getCorrelationId());
+        if (pendingPayments.complete(response)) {
+            paymentStatusStore.complete(ExternalOrchestratorDataMapper.INSTANCE.toCompletedPaymentResponse(response))
+                    .onErrorResume(ex -> {
+                        log.error(PAYMENT_STATUS_ERROR, response.getCorrelationId(), ex);
+                        return Mono.empty();
+                    })
+                    .subscribe();
+        }
+    }
 }
@@ -1,67 +1,184 @@
 package com.sgi.card.application.service.impl;
 
 import com.sgi.card.domain.model.Card;
+import com.sgi.card.domain.model.IdempotencyRecord;
 import com.sgi.card.domain.ports.in.CardService;
+import com.sgi.card.domain.ports.out.AccountBalanceService;
+import com.sgi.card.domain.ports.out.CardNumberGenerator;
 import com.sgi.card.domain.ports.out.CardRepository;
+import com.sgi.card.domain.ports.out.EventOutbox;
 import com.sgi.card.domain.ports.out.FeignExternalService;
+import com.sgi.card.domain.ports.out.IdempotencyStore;
+import com.sgi.card.domain.ports.out.PaymentStatusStore;
 import com.sgi.card.domain.shared.CustomError;
 import com.sgi.card.infrastructure.dto.BalanceResponse;
+import com.sgi.card.infrastructure.dto.CardPatchRequest;
 import com.sgi.card.infrastructure.dto.CardResponse;
 import com.sgi.card.infrastructure.dto.PaymentRequest;
+import com.sgi.card.infrastructure.dto.PaymentResponse;
 import com.sgi.card.infrastructure.dto.TransactionResponse;
 import com.sgi.card.infrastructure.dto.CardRequest;
+import com.sgi.card.infrastructure.dto.AccountsRequest;
 import com.sgi.card.infrastructure.dto.AssociateRequest;
+import com.sgi.card.infrastructure.dto.BulkCardResult;
 import com.sgi.card.infrastructure.exception.CustomException;
+import com.sgi.card.infrastructure.exception.ErrorResponses;
+import com.sgi.card.infrastructure.logging.LogSamplers;
 import com.sgi.card.infrastructure.mapper.CardMapper;
+import com.sgi.card.infrastructure.metrics.StageTimer;
 import com.sgi.card.infrastructure.mapper.ExternalOrchestratorDataMapper;
 import com.sgi.card.infrastructure.subscriber.events.OrchestratorEvent;
+import com.sgi.card.infrastructure.subscriber.events.OrchestratorEventResponse;
 import com.sgi.card.infrastructure.subscriber.message.EventSender;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import static com.sgi.card.domain.shared.Constants.*;
+import static com.sgi.card.infrastructure.metrics.StageTimer.STAGE;
+import static net.logstash.logback.argument.StructuredArguments.kv;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CardServiceImpl implements CardService {
 
-    @Value("${feign.client.config.account-service.url}")
-    private String accountServiceUrl;
-
     @Value("${feign.client.config.transaction-service.url}")
     private String transactionServiceUrl;
 
+    @Value("${card.outbox.enabled:true}")
+    private boolean outboxEnabled;
+
+    @Value("${card.payments.response-timeout:3s}")
+    private Duration paymentResponseTimeout;
+
+    @Value("${card.verify-funds.parallelism:1}")
+    private int verifyFundsParallelism;
+
+    @Value("${card.verify-funds.hedge-delay:0ms}")
+    private Duration verifyFundsHedgeDelay;
+
+    @Value("${card.cards.bulk.chunk-size:500}")
+    private int bulkChunkSize;
+
+    @Value("${card.cards.bulk.window:50ms}")
+    private Duration bulkWindow;
+
+    @Value("${card.cards.bulk.concurrency:4}")
+    private int bulkConcurrency;
+
     private final CardRepository cardRepository;
 
     private final FeignExternalService webClient;
 
+    private final AccountBalanceService accountBalanceService;
+
     private final EventSender kafkaTemplate;
 
+    private final EventOutbox eventOutbox;
+
+    private final PendingPaymentRegistry pendingPayments;
+
+    private final CardNumberGenerator cardNumberGenerator;
+
+    private final IdempotencyStore idempotencyStore;
+
+    private final PaymentSequencer paymentSequencer;
+
+    private final FundsReservations fundsReservations;
+
+    private final PaymentStatusStore paymentStatusStore;
+
+    private final StageTimer stageTimer;
+
+    private final LogSamplers logSamplers;
+
     @Override
     public Mono<CardResponse> createCard(Mono<CardRequest> card) {
-        return card.flatMap( cardRequest -> {
-            cardRequest.setCardNumber(generateCardNumber());
-            cardRequest.setExpirationDate(OffsetDateTime.now().plusYears(5));
-            List<String> associatedAccountIds = Optional.ofNullable(cardRequest.getMainAccountId())
-                    .map(mainAccountId -> {
-                        List<String> list = new ArrayList<>();
-                        list.add(mainAccountId);
-                        return list;
-                    }).orElseGet(ArrayList::new);
-            cardRequest.setAssociatedAccountIds(associatedAccountIds);
-            return CardMapper.INSTANCE.map(Mono.just(cardRequest))
-               .flatMap(cardRepository::save);
-        });
+        return card.flatMap(cardRequest -> cardNumberGenerator.next()
+                .map(cardNumber -> newCard(cardRequest, cardNumber)))
+                .flatMap(cardRepository::save);
+    }
+
+    /**
+     * Issues cards as their requests arrive: requests are grouped in chunks of {@code card.cards.bulk.chunk-size}
+     * (or whatever arrived within {@code card.cards.bulk.window}), each chunk gets its card numbers in one call and
+     * is stored with one unordered bulk insert. Up to {@code card.cards.bulk.concurrency} chunks are written at
+     * once, and the per-card results are emitted in request order as soon as their chunk is stored.
+     */
+    @Override
+    public Flux<BulkCardResult> createCards(Flux<CardRequest> cards) {
+        return cards.index()
+                .bufferTimeout(bulkChunkSize, bulkWindow)
+                .flatMapSequential(this::issue, bulkConcurrency);
+    }
+
+    private Flux<BulkCardResult> issue(List<Tuple2<Long, CardRequest>> chunk) {
+        return cardNumberGenerator.next(chunk.size())
+                .collectList()
+                .flatMap(cardNumbers -> {
+                    List<Card> cards = new ArrayList<>(chunk.size());
+                    for (int i = 0; i < chunk.size(); i++) {
+                        cards.add(newCard(chunk.get(i).getT2(), cardNumbers.get(i)));
+                    }
+                    return cardRepository.insertAll(cards)
+                            .map(failures -> bulkResults(chunk, cards, failures));
+                })
+                .onErrorResume(ex -> {
+                    log.error(BULK_CHUNK_ERROR, chunk.size(), ex);
+                    return Mono.just(bulkResults(chunk, null, null));
+                })
+                .flatMapIterable(results -> results);
+    }
+
+    private static List<BulkCardResult> bulkResults(List<Tuple2<Long, CardRequest>> chunk, List<Card> cards,
+                                                    Map<Integer, CustomError> failures) {
+        List<BulkCardResult> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            CustomError failure = cards == null ? CustomError.E_OPERATION_FAILED : failures.get(i);
+            BulkCardResult result = new BulkCardResult(chunk.get(i).getT1(),
+                    failure == null ? BulkCardResult.StatusEnum.CREATED : BulkCardResult.StatusEnum.FAILED);
+            if (failure == null) {
+                result.setCard(CardMapper.INSTANCE.toCardResponse(cards.get(i)));
+            } else {
+                result.setError(ErrorResponses.of(new CustomException(failure)));
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    private Card newCard(CardRequest cardRequest, String cardNumber) {
+        cardRequest.setCardNumber(cardNumber);
+        cardRequest.setExpirationDate(OffsetDateTime.now().plusYears(5));
+        List<String> associatedAccountIds = Optional.ofNullable(cardRequest.getMainAccountId())
+                .map(mainAccountId -> {
+                    List<String> list = new ArrayList<>();
+                    list.add(mainAccountId);
+                    return list;
+                }).orElseGet(ArrayList::new);
+        cardRequest.setAssociatedAccountIds(associatedAccountIds);
+        Card card = CardMapper.INSTANCE.created(cardRequest);
+        card.setVersion(0L);
+        return card;
     }
 
     @Override
@@ -72,8 +189,9 @@ public class CardServiceImpl implements CardService {
     }
 
     @Override
-    public Flux<CardResponse> getAllCards(String clientId, String type, String cardId) {
-        return cardRepository.findAll(clientId, type, cardId);
+    public Flux<CardResponse> getAllCards(String clientId, String type, String cardId,
+                                          String cursor, Integer limit, List<String> fields) {
+        return cardRepository.findAll(clientId, type, cardId, cursor, limit, fields);
     }
 
     @Override
@@ -82,52 +200,51 @@ public class CardServiceImpl implements CardService {
                 .map(CardMapper.INSTANCE::toCardResponse);
     }
 
+    /**
+     * Replaces the card through the same version-guarded update as {@link #patchCard}. The expected version is the
+     * one sent in the request or, without one, the version just read, so a write that lands in between is
+     * reported as a conflict instead of being overwritten.
+     */
     @Override
     public Mono<CardResponse> updateCard(String cardId, Mono<CardRequest> cardRequestMono) {
-        return cardRepository.findById(cardId)
-                .switchIfEmpty(Mono.error(new CustomException(CustomError.E_CARD_NOT_FOUND)))
-                .flatMap(card ->
-                        cardRequestMono.map(updatedCard -> {
-                            Card updated = CardMapper.INSTANCE.toCard(updatedCard);
-                            updated.setId(card.getId());
-                            return updated;
-                        })
-                )
-                .flatMap(cardRepository::save);
+        return cardRequestMono.flatMap(request -> Mono.justOrEmpty(request.getVersion())
+                .switchIfEmpty(Mono.defer(() -> cardRepository.findById(cardId)
+                        .switchIfEmpty(Mono.error(new CustomException(CustomError.E_CARD_NOT_FOUND)))
+                        .map(card -> Optional.ofNullable(card.getVersion()).orElse(0L))))
+                .flatMap(version -> cardRepository.update(cardId,
+                        CardMapper.INSTANCE.toReplacement(request), version)));
+    }
+
+    @Override
+    public Mono<CardResponse> patchCard(String cardId, Mono<CardPatchRequest> patchRequest) {
+        return patchRequest.flatMap(patch ->
+                cardRepository.update(cardId, CardMapper.INSTANCE.toChanges(patch), patch.getVersion()));
     }
 
     @Override
     public Mono<CardResponse> associateDebitCardToAccount(String cardId, Mono<AssociateRequest> associateRequest) {
-        return cardRepository.findById(cardId)
-                .switchIfEmpty(Mono.error(new CustomException(CustomError.E_CARD_NOT_FOUND)))
-                .flatMap(debitCard -> associateRequest.flatMap(associate -> {
-                    List<String> associatedAccountIds = Optional.ofNullable(debitCard.getAssociatedAccountIds())
-                            .orElse(Collections.emptyList());
-                    if (associatedAccountIds.contains(associate.getAccountId())) {
-                        return Mono.error(new CustomException(CustomError.E_ACCOUNT_ALREADY_ASSOCIATED));
-                    }
-                    associatedAccountIds = Optional.ofNullable(debitCard.getAssociatedAccountIds())
-                            .orElseGet(() -> {
-                                List<String> newAccountIds = new ArrayList<>();
-                                debitCard.setAssociatedAccountIds(newAccountIds);
-                                return newAccountIds;
-                            });
-                    associatedAccountIds.add(associate.getAccountId());
-                    return cardRepository.save(debitCard);
-                }));
+        return associateRequest.flatMap(associate ->
+                cardRepository.associateAccount(cardId, associate.getAccountId()));
+    }
+
+    @Override
+    public Mono<CardResponse> associateAccounts(String cardId, Mono<AccountsRequest> accountsRequest) {
+        return accountsRequest.flatMap(accounts ->
+                cardRepository.associateAccounts(cardId, accounts.getAccountIds()));
+    }
+
+    @Override
+    public Mono<CardResponse> disassociateAccounts(String cardId, Mono<AccountsRequest> accountsRequest) {
+        return accountsRequest.flatMap(accounts ->
+                cardRepository.disassociateAccounts(cardId, accounts.getAccountIds()));
     }
 
     @Override
     public Mono<BalanceResponse> getPrimaryAccountBalance(String cardId) {
         return cardRepository.findById(cardId)
                 .switchIfEmpty(Mono.error(new CustomException(CustomError.E_CARD_NOT_FOUND)))
-                .flatMap(card ->
-                        Mono.from(webClient.get(accountServiceUrl.concat("/v1/accounts/{accountId}/balance"),
-                                card.getMainAccountId(),
-                                BalanceResponse.class,
-                                false))
-                                .map( balance ->
-                                        CardMapper.INSTANCE.toBalance(balance, cardId))
+                .flatMap(card -> accountBalanceService.getBalance(card.getMainAccountId(), false)
+                        .map(balance -> CardMapper.INSTANCE.toBalance(balance, cardId))
                 );
     }
 
@@ -136,48 +253,277 @@ public class CardServiceImpl implements CardService {
         return cardRepository.findById(cardId)
                 .switchIfEmpty(Mono.error(new CustomException(CustomError.E_CARD_NOT_FOUND)))
                 .flatMapMany(card ->
-                        Flux.from(webClient.get(urlParamsComponentBuilder(transactionServiceUrl, "/v1/transactions",
-                                        Map.of("cardId", cardId,
-                                                "page", page,
-                                                "size", size)),
+                        Flux.from(webClient.get(OPERATION_TRANSACTIONS, transactionsUrl(cardId, page, size),
                                 null,
                                 TransactionResponse.class,
                                 true))
                 );
     }
 
+    /**
+     * Same lookup as {@link #getLastTransactions}, but the transaction-service body is returned as raw buffers
+     * so it can be written to the client without being decoded and encoded again.
+     */
     @Override
-    @SneakyThrows
-    public Mono<Void> processPaymentOrWithdrawal(String cardId, Mono<PaymentRequest> paymentRequest) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> streamLastTransactions(String cardId, Integer page, Integer size) {
         return cardRepository.findById(cardId)
+                .switchIfEmpty(Mono.error(new CustomException(CustomError.E_CARD_NOT_FOUND)))
+                .flatMap(card -> webClient.stream(OPERATION_TRANSACTIONS, transactionsUrl(cardId, page, size)));
+    }
+
+    private String transactionsUrl(String cardId, Integer page, Integer size) {
+        return urlParamsComponentBuilder(transactionServiceUrl, "/v1/transactions",
+                Map.of("cardId", cardId,
+                        "page", page,
+                        "size", size));
+    }
+
+    /**
+     * Publishes the payment to the orchestrator and waits up to {@code card.payments.response-timeout} for its
+     * outcome. When the outcome does not arrive in time the payment is answered as pending with its correlation id.
+     * Fund verification and publication are serialized per card, and the amount stays reserved until the
+     * orchestrator answers, so concurrent payments cannot spend the same balance twice.
+     * With an idempotency key, a retry of the same payment gets the first response back without reaching
+     * account-service or the orchestrator again, and reusing the key for a different payment is rejected.
+     * A failed payment releases its key so it can be retried. A cancelled one (e.g. the client disconnected)
+     * releases it too, unless its event was already handed to the orchestrator; then the key is completed as
+     * pending, so the retry follows that payment instead of paying again.
+     */
+    @Override
+    public Mono<PaymentResponse> processPaymentOrWithdrawal(String cardId, Mono<PaymentRequest> paymentRequest,
+                                                            String idempotencyKey) {
+        if (!StringUtils.hasText(idempotencyKey)) {
+            return processPayment(cardId, paymentRequest, event -> {
+            });
+        }
+        String key = cardId.concat(":").concat(idempotencyKey);
+        return paymentRequest.flatMap(payment -> {
+            String requestHash = requestHash(payment);
+            return idempotencyStore.claim(key, requestHash)
+                    .flatMap(previous -> replay(cardId, requestHash, previous))
+                    .switchIfEmpty(Mono.defer(() -> processClaimed(cardId, key, payment)));
+        });
+    }
+
+    private Mono<PaymentResponse> processClaimed(String cardId, String key, PaymentRequest payment) {
+        AtomicReference<OrchestratorEvent> published = new AtomicReference<>();
+        return processPayment(cardId, Mono.just(payment), published::set)
+                .onErrorResume(ex -> idempotencyStore.release(key).then(Mono.error(ex)))
+                .flatMap(response -> completeKey(key, response).thenReturn(response))
+                .doOnCancel(() -> {
+                    OrchestratorEvent event = published.get();
+                    (event == null ? idempotencyStore.release(key) : completeKey(key, pending(event)))
+                            .subscribe();
+                });
+    }
+
+    private Mono<Void> completeKey(String key, PaymentResponse response) {
+        return idempotencyStore.complete(key, response)
+                .onErrorResume(ex -> {
+                    log.error(IDEMPOTENCY_COMPLETE_ERROR, key, ex);
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * SHA-256 of the payment fields, with the amount normalized so {@code 10} and {@code 10.00} match.
+     */
+    private static String requestHash(PaymentRequest payment) {
+        String canonical = String.valueOf(payment.getType()).concat("|")
+                .concat(payment.getAmount() == null ? "" : payment.getAmount().stripTrailingZeros().toPlainString());
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Answers a retried request from the result of the first one. A payment that was still pending is looked up
+     * again, so the retry sees the orchestrator outcome if it has arrived since.
+     */
+    private Mono<PaymentResponse> replay(String cardId, String requestHash, IdempotencyRecord previous) {
+        if (previous.getRequestHash() != null && !previous.getRequestHash().equals(requestHash)) {
+            return Mono.error(new CustomException(CustomError.E_IDEMPOTENCY_KEY_REUSED));
+        }
+        PaymentResponse response = previous.getResponse();
+        if (response == null) {
+            return Mono.error(new CustomException(CustomError.E_DUPLICATE_REQUEST_IN_PROGRESS));
+        }
+        if (PAYMENT_PENDING.equals(response.getStatus())) {
+            return getPaymentStatus(cardId, response.getCorrelationId());
+        }
+        return Mono.just(response);
+    }
+
+    private Mono<PaymentResponse> processPayment(String cardId, Mono<PaymentRequest> paymentRequest,
+                                                 Consumer<OrchestratorEvent> onPublish) {
+        return cardRepository.findById(cardId)
+                .transform(stageTimer.mono(STAGE, "stage", "card-lookup"))
                 .switchIfEmpty(Mono.error(new CustomException(CustomError.E_CARD_NOT_FOUND)))
                 .flatMap(card ->
                         paymentRequest.flatMap(payment ->
-                                verifyFunds(card.getAssociatedAccountIds(), payment.getAmount())
-                                        .flatMap(balance -> {
-                                            OrchestratorEvent event = ExternalOrchestratorDataMapper.INSTANCE
-                                                    .toOrchestratorEvent(card, balance, payment);
-                                            event.setBalance(balance.getAccountBalance().subtract(payment.getAmount()));
-                                            return Mono.fromFuture(kafkaTemplate.sendEvent(event))
-                                                    .doOnSuccess(result -> log.info(KAFKA_MESSAGE, result.getRecordMetadata()))
-                                                    .doOnError(error -> log.error(ERROR_KAFKA_MESSAGE, error))
-                                                    .then();
-                                        })
+                                paymentSequencer.serialize(cardId, () -> reserveAndPublish(card, payment, onPublish))
+                                        .transform(stageTimer.mono(STAGE, "stage", "sequenced"))
                         )
-                );
+                )
+                .flatMap(this::awaitOutcome)
+                .transform(stageTimer.mono(STAGE, "stage", "payment"));
+    }
+
+    /**
+     * Looks the payment up in the outcomes seen by this instance, then in the shared status store, then among the
+     * payments this instance answered as pending whose status write has not landed. Ids found nowhere, or
+     * belonging to another card, are not found.
+     */
+    @Override
+    public Mono<PaymentResponse> getPaymentStatus(String cardId, String correlationId) {
+        return pendingPayments.result(correlationId)
+                .map(this::completed)
+                .switchIfEmpty(Mono.defer(() -> paymentStatusStore.find(correlationId)))
+                .switchIfEmpty(Mono.defer(() -> pendingPayments.handedOff(correlationId)))
+                .filter(response -> cardId.equals(response.getCardId()))
+                .switchIfEmpty(Mono.error(new CustomException(CustomError.E_PAYMENT_NOT_FOUND)));
+    }
+
+    /**
+     * {@code onPublish} is told about the event right before it is published, since from then on the
+     * orchestrator may act on it. When {@code card.payments.max-pending} payments are already waiting for the
+     * orchestrator, the payment is rejected with {@link CustomError#E_SERVICE_UNAVAILABLE} before anything is
+     * reserved or published. A failed or cancelled publication gives the registration back.
+     */
+    private Mono<OrchestratorEvent> reserveAndPublish(Card card, PaymentRequest payment,
+                                                      Consumer<OrchestratorEvent> onPublish) {
+        return verifyFunds(card.getAssociatedAccountIds(), payment.getAmount())
+                .transform(stageTimer.mono(STAGE, "stage", "verify-funds"))
+                .flatMap(balance -> {
+                    OrchestratorEvent event = ExternalOrchestratorDataMapper.INSTANCE
+                            .toOrchestratorEvent(card, balance, payment);
+                    event.setBalance(balance.getAccountBalance().subtract(payment.getAmount()));
+                    event.setCorrelationId(UUID.randomUUID().toString());
+                    if (!pendingPayments.register(event.getCorrelationId())) {
+                        return Mono.error(new CustomException(CustomError.E_SERVICE_UNAVAILABLE));
+                    }
+                    fundsReservations.reserve(event.getCorrelationId(), balance.getAccountId(), payment.getAmount());
+                    onPublish.accept(event);
+                    AtomicBoolean published = new AtomicBoolean();
+                    return publish(event)
+                            .transform(stageTimer.mono(STAGE, "stage", "publish"))
+                            .doOnSuccess(ignored -> published.set(true))
+                            .doOnError(error -> abandon(event, false))
+                            .doOnCancel(() -> abandon(event, published.get()))
+                            .thenReturn(event);
+                });
+    }
+
+    /**
+     * Drops the registration of a payment nobody will wait for. An unpublished payment also releases its
+     * reservation; a published one keeps it, since the orchestrator may still accept it, and is handed off.
+     */
+    private void abandon(OrchestratorEvent event, boolean published) {
+        pendingPayments.cancel(event.getCorrelationId());
+        if (published) {
+            handOff(event).subscribe();
+        } else {
+            fundsReservations.release(event.getCorrelationId());
+        }
+    }
+
+    /**
+     * A payment whose caller stops waiting, by timeout or by cancelling, is handed off.
+     */
+    private Mono<PaymentResponse> awaitOutcome(OrchestratorEvent event) {
+        return pendingPayments.await(event.getCorrelationId(), paymentResponseTimeout)
+                .transform(stageTimer.mono(STAGE, "stage", "await-outcome"))
+                .map(this::completed)
+                .switchIfEmpty(Mono.defer(() -> handOff(event)))
+                .doOnCancel(() -> handOff(event).subscribe());
     }
 
+    /**
+     * Records a payment that is answered as pending in the shared status store, so its status URL resolves on
+     * every instance. When the outcome arrived in the meantime, the outcome is recorded and returned instead.
+     */
+    private Mono<PaymentResponse> handOff(OrchestratorEvent event) {
+        PaymentResponse pendingResponse = pending(event);
+        return pendingPayments.handOff(pendingResponse)
+                .map(this::completed)
+                .flatMap(outcome -> recordStatus(paymentStatusStore.complete(outcome), outcome))
+                .switchIfEmpty(Mono.defer(() ->
+                        recordStatus(paymentStatusStore.pending(pendingResponse), pendingResponse)));
+    }
+
+    private Mono<PaymentResponse> recordStatus(Mono<Void> write, PaymentResponse response) {
+        return write
+                .onErrorResume(ex -> {
+                    log.error(PAYMENT_STATUS_ERROR, response.getCorrelationId(), ex);
+                    return Mono.empty();
+                })
+                .thenReturn(response);
+    }
+
+    private PaymentResponse completed(OrchestratorEventResponse response) {
+        return ExternalOrchestratorDataMapper.INSTANCE.toCompletedPaymentResponse(response);
+    }
+
+    private PaymentResponse pending(OrchestratorEvent event) {
+        return ExternalOrchestratorDataMapper.INSTANCE.toPaymentResponse(event)
+                .message(PAYMENT_PENDING_MESSAGE)
+                .status(PAYMENT_PENDING);
+    }
+
+    /**
+     * Publishes the orchestrator event through the outbox, so the request only waits for the Mongo insert,
+     * or straight to Kafka when {@code card.outbox.enabled} is false.
+     */
+    private Mono<Void> publish(OrchestratorEvent event) {
+        if (outboxEnabled) {
+            return eventOutbox.enqueue(event.getCardId(), event);
+        }
+        return Mono.fromFuture(kafkaTemplate.sendEvent(event))
+                .doOnNext(result -> {
+                    if (log.isDebugEnabled()) {
+                        log.debug(KAFKA_MESSAGE, result.getRecordMetadata());
+                    } else if (logSamplers.forCategory(LogSamplers.PAYMENTS).sample()) {
+                        var metadata = result.getRecordMetadata();
+                        log.info(KAFKA_SAMPLED_MESSAGE, kv("topic", metadata.topic()),
+                                kv("partition", metadata.partition()), kv("offset", metadata.offset()));
+                    }
+                })
+                .doOnError(error -> log.error(ERROR_KAFKA_MESSAGE, error))
+                .then();
+    }
+
+    /**
+     * Looks for the first associated account, in declared priority order, whose balance, net of the amounts
+     * reserved by in-flight payments, covers the amount.
+     * Up to {@code card.verify-funds.parallelism} balance lookups run concurrently; results are still
+     * evaluated in order and the remaining lookups are cancelled as soon as a sufficient account is found.
+     */
     private Mono<BalanceResponse> verifyFunds(List<String> associatedAccountIds, BigDecimal amount) {
         return Flux.fromIterable(associatedAccountIds)
-                .concatMap(accountId ->
-                        Mono.from(webClient.get(accountServiceUrl.concat("/v1/accounts/{accountId}/balance"),
-                                        accountId,
-                                        BalanceResponse.class ,
-                                        false))
-                                .filter(response -> response.getAccountBalance().compareTo(amount) >= 0)
-                )
+                .flatMapSequential(accountId -> hedgedAccountBalance(accountId)
+                                .map(fundsReservations::available)
+                                .filter(response -> response.getAccountBalance().compareTo(amount) >= 0),
+                        Math.max(1, verifyFundsParallelism))
                 .next()
                 .switchIfEmpty(Mono.error(new CustomException(CustomError.E_INSUFFICIENT_BALANCE)));
     }
 
+    /**
+     * Issues a second balance request when the first one has not answered within
+     * {@code card.verify-funds.hedge-delay}; whichever replies first wins and the other is cancelled.
+     */
+    private Mono<BalanceResponse> hedgedAccountBalance(String accountId) {
+        Mono<BalanceResponse> request = Mono.defer(() -> accountBalanceService.getBalance(accountId, true));
+        if (verifyFundsHedgeDelay.isZero() || verifyFundsHedgeDelay.isNegative()) {
+            return request;
+        }
+        return Mono.firstWithValue(request, Mono.delay(verifyFundsHedgeDelay).then(request))
+                .onErrorResume(NoSuchElementException.class, ex -> ex.getSuppressed().length > 0
+                        ? Mono.error(ex.getSuppressed()[0])
+                        : Mono.empty());
+    }
+
 }
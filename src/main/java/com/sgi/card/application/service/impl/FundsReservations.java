@@ -0,0 +1,71 @@
+package com.sgi.card.application.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.sgi.card.infrastructure.dto.BalanceResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Amounts of accepted payments that account-service does not reflect yet.
+ * A reservation is taken when a payment is published and released when its orchestrator response arrives,
+ * or after {@code card.payments.reservation-ttl} if it never does. Fund checks subtract the reserved amount
+ * from the balance reported by account-service.
+ */
+@Component
+public class FundsReservations {
+
+    private final Map<String, BigDecimal> reservedByAccount = new ConcurrentHashMap<>();
+    private final Cache<String, Reservation> reservations;
+
+    public FundsReservations(@Value("${card.payments.reservation-ttl:30s}") Duration ttl) {
+        this.reservations = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .scheduler(Scheduler.systemScheduler())
+                .executor(Runnable::run)
+                .<String, Reservation>removalListener((correlationId, reservation, cause) -> {
+                    if (reservation != null) {
+                        unreserve(reservation);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * @return a copy of the balance with the amounts reserved on the account already deducted.
+     */
+    public BalanceResponse available(BalanceResponse balance) {
+        BigDecimal reserved = reservedByAccount.getOrDefault(balance.getAccountId(), BigDecimal.ZERO);
+        return new BalanceResponse()
+                .cardId(balance.getCardId())
+                .accountId(balance.getAccountId())
+                .clientId(balance.getClientId())
+                .accountBalance(balance.getAccountBalance().subtract(reserved));
+    }
+
+    public void reserve(String correlationId, String accountId, BigDecimal amount) {
+        reservedByAccount.merge(accountId, amount, BigDecimal::add);
+        reservations.put(correlationId, new Reservation(accountId, amount));
+    }
+
+    public void release(String correlationId) {
+        if (correlationId != null) {
+            reservations.invalidate(correlationId);
+        }
+    }
+
+    private void unreserve(Reservation reservation) {
+        reservedByAccount.computeIfPresent(reservation.accountId(), (accountId, reserved) -> {
+            BigDecimal remaining = reserved.subtract(reservation.amount());
+            return remaining.signum() > 0 ? remaining : null;
+        });
+    }
+
+    private record Reservation(String accountId, BigDecimal amount) {}
+}
@@ -0,0 +1,116 @@
+package com.sgi.card.application.service.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.util.concurrent.Queues;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs asynchronous actions one at a time per key without blocking threads.
+ * Keys are hashed onto a fixed number of stripes, each with a lock-free multi-producer queue; a stripe starts
+ * its next action only when the previous one has terminated. Actions on different stripes run in parallel,
+ * so with enough stripes payments on different cards practically never wait for each other.
+ */
+@Component
+public class PaymentSequencer {
+
+    private final Stripe[] stripes;
+    private final int mask;
+
+    public PaymentSequencer(@Value("${card.payments.sequencer.stripes:1024}") int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1) << 1);
+        this.stripes = new Stripe[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    public <T> Mono<T> serialize(String key, Supplier<Mono<T>> action) {
+        return Mono.create(sink -> {
+            Task<T> task = new Task<>(action, sink);
+            sink.onCancel(task::cancel);
+            stripes[spread(key.hashCode()) & mask].submit(task);
+        });
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Drains with a work-in-progress counter instead of recursion: whoever moves the counter off zero runs the
+     * loop, and every other {@code submit} or task termination, on any thread, only bumps it so the loop goes round
+     * again. An action that terminates synchronously therefore never nests another drain on the stack.
+     */
+    private static final class Stripe {
+
+        private final Queue<Task<?>> queue = Queues.<Task<?>>unboundedMultiproducer().get();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean running;
+
+        void submit(Task<?> task) {
+            queue.offer(task);
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                while (!running) {
+                    Task<?> task = queue.poll();
+                    if (task == null) {
+                        break;
+                    }
+                    running = true;
+                    task.run(this::release);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void release() {
+            running = false;
+            drain();
+        }
+    }
+
+    private static final class Task<T> {
+
+        private final Supplier<Mono<T>> action;
+        private final MonoSink<T> sink;
+        private final Disposable.Swap execution = Disposables.swap();
+
+        Task(Supplier<Mono<T>> action, MonoSink<T> sink) {
+            this.action = action;
+            this.sink = sink;
+        }
+
+        /**
+         * A cancel that lands while the action is being subscribed disposes it as soon as it is stored.
+         */
+        void run(Runnable onTerminate) {
+            if (execution.isDisposed()) {
+                onTerminate.run();
+                return;
+            }
+            execution.update(Mono.defer(action)
+                    .doFinally(signal -> onTerminate.run())
+                    .subscribe(sink::success, sink::error, sink::success));
+        }
+
+        void cancel() {
+            execution.dispose();
+        }
+    }
+}
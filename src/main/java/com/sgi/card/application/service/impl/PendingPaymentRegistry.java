@@ -0,0 +1,130 @@
+package com.sgi.card.application.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.sgi.card.infrastructure.dto.PaymentResponse;
+import com.sgi.card.infrastructure.subscriber.events.OrchestratorEventResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Correlates orchestrator responses with the payments waiting for them.
+ * A payment registers its correlation id before publishing its event and then waits, without holding a thread,
+ * until the matching response arrives or the wait times out. The number of waiting payments is bounded by
+ * {@code card.payments.max-pending}; past that limit new payments are rejected as service unavailable.
+ * A registration nobody waits for or cancels (e.g. the caller went away in between) expires after
+ * {@code card.payments.pending-ttl} and gives its slot back.
+ * Every response seen by the instance is also kept for a while so its status URL can be answered, and
+ * payments this instance answered as pending are remembered so their outcome is recorded in the shared store.
+ */
+@Slf4j
+@Component
+public class PendingPaymentRegistry {
+
+    private final Cache<String, Sinks.One<OrchestratorEventResponse>> pending;
+    private final Semaphore slots;
+    private final Cache<String, OrchestratorEventResponse> results;
+    private final Cache<String, PaymentResponse> handedOff;
+
+    public PendingPaymentRegistry(@Value("${card.payments.max-pending:10000}") int maxPending,
+                                  @Value("${card.payments.pending-ttl:1m}") Duration pendingTtl,
+                                  @Value("${card.payments.result-max-size:100000}") long resultMaxSize,
+                                  @Value("${card.payments.result-ttl:10m}") Duration resultTtl) {
+        this.slots = new Semaphore(maxPending);
+        this.pending = Caffeine.newBuilder()
+                .expireAfterWrite(pendingTtl)
+                .scheduler(Scheduler.systemScheduler())
+                .executor(Runnable::run)
+                .<String, Sinks.One<OrchestratorEventResponse>>removalListener((correlationId, sink, cause) -> {
+                    if (cause == RemovalCause.REPLACED) {
+                        return;
+                    }
+                    slots.release();
+                    if (sink != null && cause.wasEvicted()) {
+                        sink.tryEmitEmpty();
+                    }
+                })
+                .build();
+        this.results = Caffeine.newBuilder()
+                .maximumSize(resultMaxSize)
+                .expireAfterWrite(resultTtl)
+                .build();
+        this.handedOff = Caffeine.newBuilder()
+                .maximumSize(resultMaxSize)
+                .expireAfterWrite(resultTtl)
+                .build();
+    }
+
+    /**
+     * @return false when too many payments are already waiting; the caller should not wait for a response.
+     */
+    public boolean register(String correlationId) {
+        if (!slots.tryAcquire()) {
+            return false;
+        }
+        pending.put(correlationId, Sinks.one());
+        return true;
+    }
+
+    /**
+     * Waits for the response of a registered payment; completes empty on timeout.
+     */
+    public Mono<OrchestratorEventResponse> await(String correlationId, Duration timeout) {
+        Sinks.One<OrchestratorEventResponse> sink = pending.getIfPresent(correlationId);
+        if (sink == null) {
+            return Mono.justOrEmpty(results.getIfPresent(correlationId));
+        }
+        return sink.asMono()
+                .timeout(timeout, Mono.empty())
+                .doFinally(signal -> pending.asMap().remove(correlationId, sink));
+    }
+
+    public void cancel(String correlationId) {
+        pending.invalidate(correlationId);
+    }
+
+    /**
+     * Remembers a payment that was answered as pending. Emits its response if it already arrived, in which case
+     * {@link #complete} has already run and the caller records the outcome itself.
+     */
+    public Mono<OrchestratorEventResponse> handOff(PaymentResponse pendingResponse) {
+        handedOff.put(pendingResponse.getCorrelationId(), pendingResponse);
+        return result(pendingResponse.getCorrelationId());
+    }
+
+    /**
+     * @return true when the payment had been answered as pending by this instance, so its outcome has to be
+     * recorded in the shared store.
+     */
+    public boolean complete(OrchestratorEventResponse response) {
+        String correlationId = response.getCorrelationId();
+        if (correlationId == null) {
+            return false;
+        }
+        results.put(correlationId, response);
+        Sinks.One<OrchestratorEventResponse> sink = pending.asMap().remove(correlationId);
+        if (sink != null) {
+            sink.tryEmitValue(response);
+        }
+        return handedOff.asMap().remove(correlationId) != null;
+    }
+
+    public Mono<OrchestratorEventResponse> result(String correlationId) {
+        return Mono.justOrEmpty(results.getIfPresent(correlationId));
+    }
+
+    /**
+     * Emits the pending response of a payment this instance handed off and has not seen the outcome of.
+     */
+    public Mono<PaymentResponse> handedOff(String correlationId) {
+        return Mono.justOrEmpty(handedOff.getIfPresent(correlationId));
+    }
+}
@@ -3,6 +3,7 @@ package com.sgi.card.domain.model;
 import lombok.*;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -16,18 +17,30 @@ import java.util.List;
  */
 @Setter
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @Document(collection = "cards")
 @AllArgsConstructor
 @NoArgsConstructor
-@CompoundIndex(def = "{'id': 1, 'mainAccountId': 1}", name = "id_account_index", unique = true)
+@CompoundIndexes({
+    @CompoundIndex(def = "{'id': 1, 'mainAccountId': 1}", name = "id_account_index", unique = true),
+    @CompoundIndex(def = "{'clientId': 1, '_id': 1}", name = "client_index"),
+    @CompoundIndex(def = "{'clientId': 1, 'type': 1, '_id': 1}", name = "client_type_index")
+})
 public class Card {
     @Id
     private String id;
+    /**
+     * Unique once {@code CardNumberIndex} has verified the stored cards, see there.
+     */
     private String cardNumber;
     private Instant expirationDate;
     private String type;
     private String mainAccountId;
     private List<String> associatedAccountIds;
     private String clientId;
+    /**
+     * Incremented by every write; partial updates may require it to match. Cards stored before versioning
+     * have no version and are treated as version 0.
+     */
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.sgi.card.domain.model;
+
+import com.sgi.card.infrastructure.dto.PaymentResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Represents a payment request identified by a client idempotency key.
+ * Created when the first request with the key arrives and completed with the response it produced;
+ * Mongo removes it one day after creation.
+ * {@code requestHash} identifies the request body the key was first used with, and {@code claimedAt} is when
+ * its current owner claimed it, so an abandoned claim can be taken over once its lease expires.
+ * The class is mapped to the 'idempotency_keys' collection in MongoDB.
+ */
+@Setter
+@Getter
+@Builder
+@Document(collection = "idempotency_keys")
+@AllArgsConstructor
+@NoArgsConstructor
+public class IdempotencyRecord {
+    @Id
+    private String id;
+    private PaymentResponse response;
+    private String requestHash;
+    private Instant claimedAt;
+    @Indexed(name = "created_ttl_index", expireAfter = "1d")
+    private Instant createdAt;
+}
@@ -0,0 +1,41 @@
+package com.sgi.card.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Represents an event waiting to be published to Kafka.
+ * Written in the same request that produces it and removed by the outbox relay once the broker acknowledges it.
+ * Relays scan it in creation order and look up live leases by {@code claimedUntil}, hence the two indexes.
+ * The class is mapped to the 'outbox' collection in MongoDB.
+ */
+@Setter
+@Getter
+@Builder
+@Document(collection = "outbox")
+@AllArgsConstructor
+@NoArgsConstructor
+@CompoundIndex(def = "{'createdAt': 1, '_id': 1}", name = OutboxEvent.CREATED_INDEX)
+public class OutboxEvent {
+    public static final String CREATED_INDEX = "created_index";
+
+    @Id
+    private String id;
+    private String topic;
+    private String key;
+    private byte[] payload;
+    private String contentType;
+    private Instant createdAt;
+    private String owner;
+    @Indexed(name = "claimed_until_index")
+    private Instant claimedUntil;
+}
@@ -0,0 +1,33 @@
+package com.sgi.card.domain.model;
+
+import com.sgi.card.infrastructure.dto.PaymentResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Represents the status of a payment that was answered as pending, keyed by its correlation id.
+ * Written as pending by the instance that answered it and replaced with the orchestrator outcome once it
+ * arrives; Mongo removes it one day after creation.
+ * The class is mapped to the 'payment_status' collection in MongoDB.
+ */
+@Setter
+@Getter
+@Builder
+@Document(collection = "payment_status")
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaymentStatusRecord {
+    @Id
+    private String id;
+    private PaymentResponse response;
+    @Indexed(name = "created_ttl_index", expireAfter = "1d")
+    private Instant createdAt;
+}
@@ -1,21 +1,32 @@
 package com.sgi.card.domain.ports.in;
 
 import com.sgi.card.infrastructure.dto.*;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 /**
  * Service interface for managing bank cards.
  * Defines the operations for creating, updating, deleting, and querying cards.
  */
 public interface CardService {
     Mono<CardResponse> createCard(Mono<CardRequest> card);
+    Flux<BulkCardResult> createCards(Flux<CardRequest> cards);
     Mono<Void> deleteCard(String cardId);
-    Flux<CardResponse> getAllCards(String clientId, String type, String cardId);
+    Flux<CardResponse> getAllCards(String clientId, String type, String cardId,
+                                   String cursor, Integer limit, List<String> fields);
     Mono<CardResponse> getCardById(String cardId);
     Mono<CardResponse> updateCard(String cardId, Mono<CardRequest> card);
+    Mono<CardResponse> patchCard(String cardId, Mono<CardPatchRequest> patch);
     Mono<CardResponse> associateDebitCardToAccount(String debitCardId, Mono<AssociateRequest> associateRequest);
+    Mono<CardResponse> associateAccounts(String cardId, Mono<AccountsRequest> accountsRequest);
+    Mono<CardResponse> disassociateAccounts(String cardId, Mono<AccountsRequest> accountsRequest);
     Mono<BalanceResponse> getPrimaryAccountBalance(String cardId);
     Flux<TransactionResponse> getLastTransactions(String cardId, Integer page, Integer size);
-    Mono<Void> processPaymentOrWithdrawal(String cardId, Mono<PaymentRequest> request);
+    Mono<ResponseEntity<Flux<DataBuffer>>> streamLastTransactions(String cardId, Integer page, Integer size);
+    Mono<PaymentResponse> processPaymentOrWithdrawal(String cardId, Mono<PaymentRequest> request, String idempotencyKey);
+    Mono<PaymentResponse> getPaymentStatus(String cardId, String correlationId);
 }
@@ -0,0 +1,19 @@
+package com.sgi.card.domain.ports.out;
+
+import com.sgi.card.infrastructure.dto.BalanceResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Outbound port for reading account balances from account-service.
+ * Defines single and batched lookups; implementations may coalesce concurrent single lookups into batches.
+ * Single lookups may be served from a short-lived cache unless {@code requireFresh} is set, which money
+ * movement must always do.
+ */
+public interface AccountBalanceService {
+    Mono<BalanceResponse> getBalance(String accountId, boolean requireFresh);
+    Flux<BalanceResponse> getBalances(Collection<String> accountIds);
+    void evict(String accountId);
+}
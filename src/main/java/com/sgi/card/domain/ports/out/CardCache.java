@@ -0,0 +1,15 @@
+package com.sgi.card.domain.ports.out;
+
+import java.util.Map;
+
+/**
+ * Port for evicting locally cached card documents when they change on another instance.
+ */
+public interface CardCache {
+
+    /**
+     * Evicts each card unless its cached copy is already at the given version or newer.
+     * A null version always evicts.
+     */
+    void evict(Map<String, Long> versions);
+}
@@ -0,0 +1,12 @@
+package com.sgi.card.domain.ports.out;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Port for issuing card numbers (PANs) that are unique across every instance of the service.
+ */
+public interface CardNumberGenerator {
+    Mono<String> next();
+    Flux<String> next(int count);
+}
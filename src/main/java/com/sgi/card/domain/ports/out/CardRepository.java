@@ -1,17 +1,50 @@
 package com.sgi.card.domain.ports.out;
 
 import com.sgi.card.domain.model.Card;
+import com.sgi.card.domain.shared.CustomError;
 import com.sgi.card.infrastructure.dto.CardResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 public interface CardRepository {
 
     Mono<CardResponse> save(Card card);
 
+    /**
+     * Inserts all cards in one unordered batch; a failing card does not stop the others.
+     * Returns the error of each card that was not stored, keyed by its position in {@code cards}.
+     */
+    Mono<Map<Integer, CustomError>> insertAll(List<Card> cards);
+
     Mono<Card> findById(String cardId);
 
-    Flux<CardResponse> findAll(String clientId, String type, String cardId);
+    /**
+     * Sets only the given fields (a null value removes the field) in one update and bumps the version.
+     * When {@code expectedVersion} is given and the card is at another version, fails with
+     * {@code E_CARD_VERSION_CONFLICT}.
+     */
+    Mono<CardResponse> update(String cardId, Map<String, Object> changes, Long expectedVersion);
+
+    /**
+     * Adds the account to the card in one atomic update.
+     * Fails with {@code E_ACCOUNT_ALREADY_ASSOCIATED} when the card already holds it.
+     */
+    Mono<CardResponse> associateAccount(String cardId, String accountId);
+
+    Mono<CardResponse> associateAccounts(String cardId, Collection<String> accountIds);
+
+    /**
+     * Removes the accounts from the card in one atomic update.
+     * Fails with {@code E_MAIN_ACCOUNT_DISASSOCIATION} when one of them is the card's main account.
+     */
+    Mono<CardResponse> disassociateAccounts(String cardId, Collection<String> accountIds);
+
+    Flux<CardResponse> findAll(String clientId, String type, String cardId,
+                               String cursor, Integer limit, List<String> fields);
 
     Mono<Void> delete(Card card);
 
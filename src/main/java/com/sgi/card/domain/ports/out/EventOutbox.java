@@ -0,0 +1,26 @@
+package com.sgi.card.domain.ports.out;
+
+import com.sgi.card.domain.model.OutboxEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Port for durably queueing events that are published to Kafka asynchronously.
+ * Events sharing a key are delivered to the same partition, in the order they were enqueued.
+ */
+public interface EventOutbox {
+    Mono<Void> enqueue(String key, Object event);
+
+    /**
+     * Claims, for {@code owner} and until {@code lease} elapses, the oldest queued event of up to {@code batchSize}
+     * keys. A key whose oldest event is still leased is skipped, so its later events wait until that one is removed.
+     *
+     * @return the claimed events in creation order, at most one per key.
+     */
+    Flux<OutboxEvent> claim(String owner, int batchSize, Duration lease);
+
+    Mono<Void> remove(Collection<String> ids);
+}
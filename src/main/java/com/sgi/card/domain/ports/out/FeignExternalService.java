@@ -1,14 +1,20 @@
 package com.sgi.card.domain.ports.out;
 
 import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
  * Interface for making reactive POST and GET HTTP requests to external services.
  * Defines methods for sending and receiving data asynchronously using Mono and Flux.
+ * The operation names the downstream call (see {@code Constants.OPERATION_*}) and selects its circuit breaker
+ * and bulkhead, so a slow dependency only rejects its own calls.
+ * {@code stream} returns the raw response body without decoding it, for pass-through responses.
  */
 public interface FeignExternalService {
-    <T, R> Mono<R> post(String url, T requestBody, Class<R> responseType);
-    <R> Publisher<R> get(String url, String pathVariable, Class<R> responseType, boolean isFlux);
+    <T, R> Mono<R> post(String operation, String url, T requestBody, Class<R> responseType);
+    <R> Publisher<R> get(String operation, String url, String pathVariable, Class<R> responseType, boolean isFlux);
+    Mono<ResponseEntity<Flux<DataBuffer>>> stream(String operation, String url);
 }
@@ -0,0 +1,17 @@
+package com.sgi.card.domain.ports.out;
+
+import com.sgi.card.domain.model.IdempotencyRecord;
+import com.sgi.card.infrastructure.dto.PaymentResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Port for deduplicating requests by idempotency key across every instance of the service.
+ * {@code claim} completes empty when the caller now owns the key, or emits the record left by an earlier request;
+ * the owner then either {@code complete}s the key with its response or {@code release}s it so it can be retried.
+ * A claim that was never completed nor released is taken over by the next request once its lease expires.
+ */
+public interface IdempotencyStore {
+    Mono<IdempotencyRecord> claim(String key, String requestHash);
+    Mono<Void> complete(String key, PaymentResponse response);
+    Mono<Void> release(String key);
+}
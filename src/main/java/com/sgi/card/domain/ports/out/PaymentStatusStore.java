@@ -0,0 +1,14 @@
+package com.sgi.card.domain.ports.out;
+
+import com.sgi.card.infrastructure.dto.PaymentResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Port for sharing the status of payments answered as pending across every instance of the service, so their
+ * status URL can be resolved wherever it lands. {@code pending} never overwrites an outcome already stored.
+ */
+public interface PaymentStatusStore {
+    Mono<Void> pending(PaymentResponse response);
+    Mono<Void> complete(PaymentResponse response);
+    Mono<PaymentResponse> find(String correlationId);
+}
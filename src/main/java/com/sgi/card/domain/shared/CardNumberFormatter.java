@@ -0,0 +1,74 @@
+package com.sgi.card.domain.shared;
+
+/**
+ * Builds 16-digit card numbers: a 6-digit BIN, a 9-digit account number and a Luhn check digit.
+ * The account number is a bijective permutation of the sequence value, so distinct sequence values always give
+ * distinct numbers while consecutive cards do not receive consecutive numbers.
+ * Formatting writes straight into one char array and allocates only the resulting String.
+ */
+public final class CardNumberFormatter {
+
+    public static final int LENGTH = 16;
+    public static final int BIN_LENGTH = 6;
+    public static final long MAX_SEQUENCE = 1_000_000_000L;
+
+    private static final int ACCOUNT_LENGTH = LENGTH - BIN_LENGTH - 1;
+    // Coprime with 10^9, so (sequence * MULTIPLIER + OFFSET) mod 10^9 is a permutation of [0, 10^9).
+    private static final long MULTIPLIER = 738_219_643L;
+    private static final long OFFSET = 271_828_182L;
+
+    private CardNumberFormatter() {
+    }
+
+    public static String format(String bin, long sequence) {
+        if (bin.length() != BIN_LENGTH) {
+            throw new IllegalArgumentException("BIN must have " + BIN_LENGTH + " digits");
+        }
+        if (sequence < 0 || sequence >= MAX_SEQUENCE) {
+            throw new IllegalArgumentException("Card number sequence exhausted for BIN " + bin);
+        }
+        char[] digits = new char[LENGTH];
+        bin.getChars(0, BIN_LENGTH, digits, 0);
+        long account = (sequence * MULTIPLIER + OFFSET) % MAX_SEQUENCE;
+        for (int i = BIN_LENGTH + ACCOUNT_LENGTH - 1; i >= BIN_LENGTH; i--) {
+            digits[i] = (char) ('0' + account % 10);
+            account /= 10;
+        }
+        digits[LENGTH - 1] = (char) ('0' + checkDigit(digits, LENGTH - 1));
+        return new String(digits);
+    }
+
+    public static boolean isValid(String cardNumber) {
+        if (cardNumber == null || cardNumber.length() != LENGTH) {
+            return false;
+        }
+        char[] digits = cardNumber.toCharArray();
+        for (char digit : digits) {
+            if (digit < '0' || digit > '9') {
+                return false;
+            }
+        }
+        return digits[LENGTH - 1] - '0' == checkDigit(digits, LENGTH - 1);
+    }
+
+    /**
+     * Luhn check digit for the first {@code length} digits: starting from the rightmost one, every second digit
+     * is doubled.
+     */
+    private static int checkDigit(char[] digits, int length) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = length - 1; i >= 0; i--) {
+            int digit = digits[i] - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
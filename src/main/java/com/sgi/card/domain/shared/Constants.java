@@ -3,23 +3,37 @@ package com.sgi.card.domain.shared;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.Map;
-import java.util.Random;
 
 /**
  * Utility class for defining constants and helper methods used throughout the application.
- * This class includes static constants and a method to generate unique card numbers.
+ * This class includes static constants and a helper to build downstream URLs.
  */
 public class Constants {
 
     public static final String EXTERNAL_REQUEST_SUCCESS_FORMAT = "Request to {} succeeded: {}";
+    public static final String EXTERNAL_REQUEST_SAMPLED_FORMAT = "Request succeeded {} {}";
     public static final String EXTERNAL_REQUEST_ERROR_FORMAT = "Error during request to {}";
     public static final String KAFKA_MESSAGE = "Mensaje enviado: {}";
+    public static final String KAFKA_SAMPLED_MESSAGE = "Mensaje enviado {} {} {}";
     public static final String ERROR_KAFKA_MESSAGE = "Error al enviar mensaje: ";
     public static final String TOPIC_ORCHESTRATOR = "Processing topic: [{}], Payload: [{}] - Result:{}";
-
-    public static String generateCardNumber() {
-        return String.format("%04d00%012d", new Random().nextInt(10000), new Random().nextLong(1000000000000L));
-    }
+    public static final String TOPIC_ORCHESTRATOR_SAMPLED = "Processing topic {} {}";
+    public static final String PAYMENT_PENDING = "PENDING";
+    public static final String PAYMENT_COMPLETED_MESSAGE = "Operation completed";
+    public static final String PAYMENT_PENDING_MESSAGE = "Operation in progress";
+    public static final String KAFKA_PUBLISH_MESSAGE = "Publishing to Kafka topic {}: {}";
+    public static final String KAFKA_PUBLISH_SAMPLED = "Publishing to Kafka {}";
+    public static final String KAFKA_BATCH_MESSAGE = "Mensajes enviados: {} de {} solicitados";
+    public static final String BALANCE_EVENT_ERROR = "Error resolving balance for card {}";
+    public static final String OPERATION_ACCOUNT_BALANCE = "account-service.balance";
+    public static final String OPERATION_ACCOUNT_BALANCES = "account-service.balances";
+    public static final String OPERATION_TRANSACTIONS = "transaction-service.transactions";
+    public static final String BULK_CHUNK_ERROR = "Error issuing a chunk of {} cards";
+    public static final String IDEMPOTENCY_COMPLETE_ERROR = "Error storing the result of idempotency key {}";
+    public static final String PAYMENT_STATUS_ERROR = "Error storing the status of payment {}";
+    public static final String CARD_NUMBER_DUPLICATES = "Unique card number index not created, numbers shared by several cards: {}";
+    public static final String CARD_NUMBER_INDEX_ERROR = "Error creating the unique card number index";
+    public static final String STALE_BALANCE_MESSAGE = "Serving stale balance for account {}: {}";
 
     public static String urlParamsComponentBuilder(String domain, String url, Map<String, Object> params) {
         UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(domain.concat(url));
@@ -18,7 +18,13 @@ public enum CustomError {
     E_INSUFFICIENT_BALANCE(new ApiError(HttpStatus.PAYMENT_REQUIRED, "CARD-004", "Insufficient balance")),
     E_MALFORMED_CARD_DATA(new ApiError(HttpStatus.BAD_REQUEST, "CARD-002", "Malformed card data")),
     E_ACCOUNT_ALREADY_ASSOCIATED(new ApiError(HttpStatus.CONFLICT, "CARD-003", "Account already associated with this card")),
-    E_DUPLICATE_CARD_NUMBER(new ApiError(HttpStatus.CONFLICT, "CARD-005", "Card with this number already exists"));
+    E_DUPLICATE_CARD_NUMBER(new ApiError(HttpStatus.CONFLICT, "CARD-005", "Card with this number already exists")),
+    E_PAYMENT_NOT_FOUND(new ApiError(HttpStatus.NOT_FOUND, "CARD-006", "Payment not found for this card")),
+    E_SERVICE_UNAVAILABLE(new ApiError(HttpStatus.SERVICE_UNAVAILABLE, "CARD-007", "Downstream service unavailable")),
+    E_MAIN_ACCOUNT_DISASSOCIATION(new ApiError(HttpStatus.CONFLICT, "CARD-008", "The main account cannot be disassociated from the card")),
+    E_CARD_VERSION_CONFLICT(new ApiError(HttpStatus.CONFLICT, "CARD-009", "Card was modified by another request")),
+    E_DUPLICATE_REQUEST_IN_PROGRESS(new ApiError(HttpStatus.CONFLICT, "CARD-010", "A request with this idempotency key is still in progress")),
+    E_IDEMPOTENCY_KEY_REUSED(new ApiError(HttpStatus.UNPROCESSABLE_ENTITY, "CARD-011", "The idempotency key was already used for a different request"));
 
     private final ApiError error;
 }
@@ -0,0 +1,40 @@
+package com.sgi.card.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * HTTP client settings for each downstream service, bound from {@code card.http.clients.<name>}.
+ * The name matches the {@code feign.client.config.<name>.url} entry of the downstream, so every service
+ * gets its own connection pool, timeouts and response size limit.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "card.http")
+public class HttpClientProperties {
+
+    private Map<String, Client> clients = new LinkedHashMap<>(Map.of(
+            "account-service", new Client(),
+            "transaction-service", new Client()));
+
+    @Data
+    public static class Client {
+        private int maxConnections = 200;
+        private int pendingAcquireMaxCount = 1000;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        private Duration evictInBackground = Duration.ofSeconds(30);
+        private Duration connectTimeout = Duration.ofSeconds(1);
+        private Duration responseTimeout = Duration.ofSeconds(3);
+        private boolean keepAlive = true;
+        private boolean http2 = false;
+        private DataSize maxInMemorySize = DataSize.ofKilobytes(256);
+    }
+}
@@ -0,0 +1,36 @@
+package com.sgi.card.infrastructure.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+/**
+ * Identifies this running instance of the service.
+ * Used to build per-instance Kafka consumer groups, so every replica receives broadcast events,
+ * and to recognize events published by the instance itself.
+ * Defaults to the host name, so a restarted instance rejoins its own consumer group instead of leaving an orphaned
+ * one behind; set {@code card.instance-id} when several instances share a host.
+ */
+@Getter
+@Component("instanceIdentity")
+public class InstanceIdentity {
+
+    private final String id;
+
+    public InstanceIdentity(@Value("${card.instance-id:}") String instanceId) {
+        this.id = StringUtils.hasText(instanceId) ? instanceId : hostName();
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            return UUID.randomUUID().toString();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.sgi.card.infrastructure.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openapitools.jackson.nullable.JsonNullableModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson modules picked up by Boot's ObjectMapper, and through it by the WebFlux codecs.
+ * {@link JsonNullableModule} lets patch requests tell an absent field from one explicitly sent as null.
+ */
+@Configuration
+@Slf4j
+public class JacksonConfiguration {
+
+    @Bean
+    public JsonNullableModule jsonNullableModule() {
+        log.info("Registering JsonNullable Jackson module");
+        return new JsonNullableModule();
+    }
+}
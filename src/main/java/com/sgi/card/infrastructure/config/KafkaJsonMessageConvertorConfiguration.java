@@ -1,12 +1,18 @@
 package com.sgi.card.infrastructure.config;
 
+import com.sgi.card.infrastructure.subscriber.message.EventCodec;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.support.converter.RecordMessageConverter;
 import org.springframework.kafka.support.converter.StringJsonMessageConverter;
 
+import java.lang.reflect.Type;
+
 import static com.sgi.card.infrastructure.mapper.ObjectMappers.OBJECT_MAPPER;
+import static com.sgi.card.infrastructure.mapper.ObjectMappers.SMILE_MAPPER;
 
 @Configuration
 @Slf4j
@@ -15,6 +21,20 @@ public class KafkaJsonMessageConvertorConfiguration {
     @Bean
     public RecordMessageConverter jsonMessageConverter() {
         log.info("Creating JSON message converter");
-        return new StringJsonMessageConverter(OBJECT_MAPPER);
+        return new StringJsonMessageConverter(OBJECT_MAPPER) {
+
+            /**
+             * Smile encoded values, flagged by the content-type header, are decoded with the Smile mapper;
+             * everything else keeps the JSON conversion.
+             */
+            @Override
+            @SneakyThrows
+            protected Object extractAndConvertValue(ConsumerRecord<?, ?> consumerRecord, Type type) {
+                if (consumerRecord.value() instanceof byte[] value && EventCodec.isSmile(consumerRecord.headers())) {
+                    return SMILE_MAPPER.readValue(value, SMILE_MAPPER.constructType(type));
+                }
+                return super.extractAndConvertValue(consumerRecord, type);
+            }
+        };
     }
 }
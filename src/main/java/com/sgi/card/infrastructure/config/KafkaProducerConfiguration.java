@@ -0,0 +1,79 @@
+package com.sgi.card.infrastructure.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.converter.RecordMessageConverter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka producers used by the service.
+ * Both templates write values as already-encoded bytes (see {@code EventCodec}), so events are serialized once.
+ * The default template keeps the producer settings from {@code spring.kafka.producer}; the outbox template
+ * overrides them for throughput (idempotence, linger, batch size and compression).
+ * Declaring any KafkaTemplate disables Spring Boot's auto-configured one, so the default template is declared here.
+ * Both templates are observed, which times every send and propagates the trace context in the record headers.
+ */
+@Slf4j
+@Configuration
+public class KafkaProducerConfiguration {
+
+    @Bean
+    @Primary
+    public ProducerFactory<String, byte[]> producerFactory(KafkaProperties kafkaProperties,
+                                                           ObjectProvider<SslBundles> sslBundles) {
+        return new DefaultKafkaProducerFactory<>(byteArrayProducerProperties(kafkaProperties, sslBundles));
+    }
+
+    @Bean
+    @Primary
+    public KafkaTemplate<String, byte[]> kafkaTemplate(ProducerFactory<String, byte[]> producerFactory,
+                                                       RecordMessageConverter jsonMessageConverter) {
+        KafkaTemplate<String, byte[]> kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        kafkaTemplate.setMessageConverter(jsonMessageConverter);
+        kafkaTemplate.setObservationEnabled(true);
+        return kafkaTemplate;
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> outboxKafkaTemplate(
+            KafkaProperties kafkaProperties,
+            ObjectProvider<SslBundles> sslBundles,
+            @Value("${card.outbox.producer.linger:20}") int lingerMs,
+            @Value("${card.outbox.producer.batch-size:262144}") int batchSize,
+            @Value("${card.outbox.producer.compression:lz4}") String compression) {
+        Map<String, Object> properties = byteArrayProducerProperties(kafkaProperties, sslBundles);
+        properties.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        properties.put(ProducerConfig.ACKS_CONFIG, "all");
+        properties.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        properties.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        properties.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        properties.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compression);
+        log.info("Creating outbox Kafka producer with linger {} ms, batch size {} and {} compression",
+                lingerMs, batchSize, compression);
+        KafkaTemplate<String, byte[]> kafkaTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(properties));
+        kafkaTemplate.setObservationEnabled(true);
+        return kafkaTemplate;
+    }
+
+    private static Map<String, Object> byteArrayProducerProperties(KafkaProperties kafkaProperties,
+                                                                   ObjectProvider<SslBundles> sslBundles) {
+        Map<String, Object> properties = new HashMap<>(kafkaProperties.buildProducerProperties(sslBundles.getIfAvailable()));
+        properties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        return properties;
+    }
+}
@@ -0,0 +1,23 @@
+package com.sgi.card.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Logging settings of the request hot path, bound from {@code card.logging}.
+ * {@code sample-rate.<category>} keeps one INFO statement out of every n for that category
+ * (see {@link com.sgi.card.infrastructure.logging.LogSampler}); categories without an entry use
+ * {@code default-sample-rate}. Payloads are only logged at DEBUG, regardless of the rate.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "card.logging")
+public class LoggingProperties {
+
+    private int defaultSampleRate = 100;
+    private Map<String, Integer> sampleRate = new LinkedHashMap<>();
+}
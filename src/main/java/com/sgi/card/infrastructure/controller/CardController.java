@@ -1,26 +1,35 @@
 package com.sgi.card.infrastructure.controller;
 
 import com.sgi.card.domain.ports.in.CardService;
+import com.sgi.card.infrastructure.dto.AccountsRequest;
 import com.sgi.card.infrastructure.dto.AssociateRequest;
+import com.sgi.card.infrastructure.dto.BulkCardResult;
+import com.sgi.card.infrastructure.dto.CardPatchRequest;
 import com.sgi.card.infrastructure.dto.CardRequest;
 import com.sgi.card.infrastructure.dto.CardResponse;
 import com.sgi.card.infrastructure.dto.TransactionResponse;
 import com.sgi.card.infrastructure.dto.BalanceResponse;
 import com.sgi.card.infrastructure.dto.PaymentRequest;
+import com.sgi.card.infrastructure.dto.PaymentResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.Map;
+import java.util.List;
+
+import static com.sgi.card.domain.shared.Constants.PAYMENT_PENDING;
 
 @RestController
 @RequiredArgsConstructor
 public class CardController implements V1Api {
 
+    private static final String PAYMENT_STATUS_PATH = "/v1/cards/{cardId}/transaction/{correlationId}";
+
     private final CardService cardService;
 
     @Override
@@ -30,6 +39,18 @@ public class CardController implements V1Api {
                         .body(cardResponse));
     }
 
+    @Override
+    public Mono<ResponseEntity<CardResponse>> associateAccounts(String cardId, Mono<AccountsRequest> accountsRequest, ServerWebExchange exchange) {
+        return cardService.associateAccounts(cardId, accountsRequest)
+                .map(cardResponse -> ResponseEntity.ok().body(cardResponse));
+    }
+
+    @Override
+    public Mono<ResponseEntity<CardResponse>> disassociateAccounts(String cardId, Mono<AccountsRequest> accountsRequest, ServerWebExchange exchange) {
+        return cardService.disassociateAccounts(cardId, accountsRequest)
+                .map(cardResponse -> ResponseEntity.ok().body(cardResponse));
+    }
+
     @Override
     public Mono<ResponseEntity<CardResponse>> createCard(Mono<CardRequest> cardRequest, ServerWebExchange exchange) {
         return cardService.createCard(cardRequest)
@@ -37,6 +58,12 @@ public class CardController implements V1Api {
                        .body(cardResponse));
     }
 
+    @Override
+    public Mono<ResponseEntity<Flux<BulkCardResult>>> createCards(Flux<CardRequest> cardRequest, ServerWebExchange exchange) {
+        return Mono.fromSupplier(() -> ResponseEntity.ok()
+                .body(cardService.createCards(cardRequest)));
+    }
+
     @Override
     public Mono<ResponseEntity<Void>> deleteCard(String cardId, ServerWebExchange exchange) {
         return cardService.deleteCard(cardId)
@@ -44,8 +71,11 @@ public class CardController implements V1Api {
     }
 
     @Override
-    public Mono<ResponseEntity<Flux<CardResponse>>> getAllCards(String clientId, String type, String cardId, ServerWebExchange exchange) {
-        return Mono.fromSupplier(() -> ResponseEntity.ok().body(cardService.getAllCards(clientId, type, cardId)));
+    public Mono<ResponseEntity<Flux<CardResponse>>> getAllCards(String clientId, String type, String cardId,
+                                                                String cursor, Integer limit, List<String> fields,
+                                                                ServerWebExchange exchange) {
+        return Mono.fromSupplier(() -> ResponseEntity.ok()
+                .body(cardService.getAllCards(clientId, type, cardId, cursor, limit, fields)));
     }
 
     @Override
@@ -66,9 +96,15 @@ public class CardController implements V1Api {
     }
 
     @Override
-    public Mono<ResponseEntity<Object>> processPaymentOrWithdrawal(String cardId, Mono<PaymentRequest> paymentRequest, ServerWebExchange exchange) {
-        return   cardService.processPaymentOrWithdrawal(cardId, paymentRequest)
-                .thenReturn(ResponseEntity.ok().body(Map.of("message","Operation completed")));
+    public Mono<ResponseEntity<PaymentResponse>> processPaymentOrWithdrawal(String cardId, Mono<PaymentRequest> paymentRequest, String idempotencyKey, ServerWebExchange exchange) {
+        return cardService.processPaymentOrWithdrawal(cardId, paymentRequest, idempotencyKey)
+                .map(payment -> paymentResponse(cardId, payment));
+    }
+
+    @Override
+    public Mono<ResponseEntity<PaymentResponse>> getPaymentStatus(String cardId, String correlationId, ServerWebExchange exchange) {
+        return cardService.getPaymentStatus(cardId, correlationId)
+                .map(payment -> paymentResponse(cardId, payment));
     }
 
     @Override
@@ -76,4 +112,21 @@ public class CardController implements V1Api {
         return cardService.updateCard(cardId, cardRequest)
                 .map(cardResponse -> ResponseEntity.ok().body(cardResponse));
     }
+
+    @Override
+    public Mono<ResponseEntity<CardResponse>> patchCard(String cardId, Mono<CardPatchRequest> cardPatchRequest, ServerWebExchange exchange) {
+        return cardService.patchCard(cardId, cardPatchRequest)
+                .map(cardResponse -> ResponseEntity.ok().body(cardResponse));
+    }
+
+    private ResponseEntity<PaymentResponse> paymentResponse(String cardId, PaymentResponse payment) {
+        if (PAYMENT_PENDING.equals(payment.getStatus())) {
+            return ResponseEntity.accepted()
+                    .location(UriComponentsBuilder.fromPath(PAYMENT_STATUS_PATH)
+                            .buildAndExpand(cardId, payment.getCorrelationId())
+                            .toUri())
+                    .body(payment);
+        }
+        return ResponseEntity.ok().body(payment);
+    }
 }
@@ -0,0 +1,51 @@
+package com.sgi.card.infrastructure.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns a downstream response into the client response without decoding its body.
+ * Only the status and headers are transformed: the headers listed in {@code card.transactions.pass-through.headers}
+ * are copied and {@code card.transactions.pass-through.extra-headers} are added. The body buffers are forwarded
+ * as they arrive and released by the server once written, so they are never decoded or copied.
+ */
+@Component
+@ConditionalOnProperty(name = "card.transactions.pass-through.enabled", havingValue = "true")
+public class PassThroughResponseWriter {
+
+    private final List<String> forwardedHeaders;
+    private final Map<String, String> extraHeaders;
+
+    public PassThroughResponseWriter(@Value("${card.transactions.pass-through.headers:Content-Type,Content-Encoding}")
+                                     List<String> forwardedHeaders,
+                                     @Value("#{${card.transactions.pass-through.extra-headers:{:}}}")
+                                     Map<String, String> extraHeaders) {
+        this.forwardedHeaders = forwardedHeaders;
+        this.extraHeaders = extraHeaders;
+    }
+
+    public Mono<ServerResponse> write(ResponseEntity<Flux<DataBuffer>> downstream) {
+        Flux<DataBuffer> body = downstream.getBody();
+        return ServerResponse.status(downstream.getStatusCode())
+                .headers(headers -> {
+                    forwardedHeaders.forEach(name -> {
+                        List<String> values = downstream.getHeaders().get(name);
+                        if (values != null) {
+                            headers.put(name, values);
+                        }
+                    });
+                    extraHeaders.forEach(headers::set);
+                })
+                .body(BodyInserters.fromDataBuffers(body == null ? Flux.empty() : body));
+    }
+}
@@ -0,0 +1,50 @@
+package com.sgi.card.infrastructure.controller;
+
+import com.sgi.card.domain.ports.in.CardService;
+import com.sgi.card.infrastructure.exception.CustomException;
+import com.sgi.card.infrastructure.exception.ErrorResponses;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Serves the last transactions of a card as the raw transaction-service body when
+ * {@code card.transactions.pass-through.enabled} is true.
+ * Router functions are mapped ahead of the annotated controllers, so this route replaces
+ * {@link CardController#getLastTransactions} only while it is enabled.
+ */
+@Configuration
+@ConditionalOnProperty(name = "card.transactions.pass-through.enabled", havingValue = "true")
+public class PassThroughRoutes {
+
+    private static final String TRANSACTIONS_PATH = "/v1/cards/{cardId}/transaction";
+    private static final int DEFAULT_PAGE = 1;
+    private static final int DEFAULT_SIZE = 10;
+
+    @Bean
+    public RouterFunction<ServerResponse> passThroughTransactions(CardService cardService,
+                                                                  PassThroughResponseWriter passThroughWriter) {
+        return route(GET(TRANSACTIONS_PATH), request -> cardService.streamLastTransactions(
+                        request.pathVariable("cardId"),
+                        intParam(request, "page", DEFAULT_PAGE),
+                        intParam(request, "size", DEFAULT_SIZE))
+                .flatMap(passThroughWriter::write)
+                .onErrorResume(CustomException.class, ex -> ServerResponse.status(ex.getStatus())
+                        .bodyValue(ErrorResponses.of(ex))));
+    }
+
+    private static Integer intParam(ServerRequest request, String name, int defaultValue) {
+        try {
+            return request.queryParam(name).map(Integer::valueOf).orElse(defaultValue);
+        } catch (NumberFormatException ex) {
+            throw new ServerWebInputException("Invalid query parameter " + name);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.sgi.card.infrastructure.exception;
+
+import com.sgi.card.infrastructure.dto.ErrorResponse;
+
+import java.time.ZoneOffset;
+
+/**
+ * Construye el cuerpo {@link ErrorResponse} de una {@link CustomException}.
+ * Lo comparten {@link GlobalExceptionHandler}, las rutas funcionales y los errores por elemento de las
+ * respuestas masivas.
+ */
+public final class ErrorResponses {
+
+    private ErrorResponses() {
+    }
+
+    /**
+     * Crea un objeto ErrorResponse a partir de la excepción personalizada.
+     *
+     * @param ex Excepción personalizada.
+     * @return Un objeto ErrorResponse con los detalles del error.
+     */
+    public static ErrorResponse of(CustomException ex) {
+        return new ErrorResponse(ex.getStatus(), ex.getCode(), ex.getMessage(),
+                ex.getTimestamp().atOffset(ZoneOffset.UTC));
+    }
+}
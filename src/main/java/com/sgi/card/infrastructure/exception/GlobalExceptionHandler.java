@@ -6,10 +6,6 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
-import java.time.ZoneOffset;
-
 /**
  * GlobalExceptionHandler maneja las excepciones personalizadas en la aplicación.
  * Utiliza @ControllerAdvice para interceptar las excepciones lanzadas y generar respuestas de error adecuadas.
@@ -27,18 +23,6 @@ public class GlobalExceptionHandler {
     public Mono<ResponseEntity<ErrorResponse>> handleCustomException(CustomException ex) {
         return Mono.just(ResponseEntity
                 .status(ex.getStatus())
-                .body(createErrorResponse(ex)));
-    }
-
-    /**
-     * Crea un objeto ErrorResponse a partir de la excepción personalizada.
-     *
-     * @param ex Excepción personalizada.
-     * @return Un objeto ErrorResponse con los detalles del error.
-     */
-    private ErrorResponse createErrorResponse(CustomException ex) {
-        LocalDateTime localDateTime = ex.getTimestamp();
-        OffsetDateTime offsetDateTime = localDateTime.atOffset(ZoneOffset.UTC);
-        return new ErrorResponse(ex.getStatus(), ex.getCode(), ex.getMessage(), offsetDateTime);
+                .body(ErrorResponses.of(ex)));
     }
-}
\ No newline at end of file
+}
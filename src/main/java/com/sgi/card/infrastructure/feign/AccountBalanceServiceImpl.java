@@ -0,0 +1,150 @@
+package com.sgi.card.infrastructure.feign;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sgi.card.domain.ports.out.AccountBalanceService;
+import com.sgi.card.domain.ports.out.FeignExternalService;
+import com.sgi.card.infrastructure.dto.BalanceResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.sgi.card.domain.shared.Constants.OPERATION_ACCOUNT_BALANCE;
+import static com.sgi.card.domain.shared.Constants.OPERATION_ACCOUNT_BALANCES;
+import static com.sgi.card.domain.shared.Constants.STALE_BALANCE_MESSAGE;
+
+/**
+ * Implementation of {@link AccountBalanceService} backed by account-service.
+ * When batching is enabled, concurrent single-account lookups coming from different in-flight requests
+ * are coalesced into one call to the batch balance endpoint.
+ * Balances are kept for a short, configurable TTL; display reads may be answered from that cache while
+ * fresh reads always reach account-service and refresh the cached value.
+ * When account-service fails or rejects the call, display reads fall back to the last known balance
+ * (kept for {@code card.cache.balances.stale-ttl}); fresh reads never do.
+ */
+@Slf4j
+@Service
+public class AccountBalanceServiceImpl implements AccountBalanceService {
+
+    private static final String BALANCE_PATH = "/v1/accounts/{accountId}/balance";
+
+    private final FeignExternalService webClient;
+    private final String accountServiceUrl;
+    private final String batchPath;
+    private final BatchCoalescer<String, BalanceResponse> coalescer;
+    private final AsyncCache<String, BalanceResponse> cache;
+    private final Cache<String, BalanceResponse> lastKnown;
+    private final Counter avoidedRequests;
+    private final Counter staleResponses;
+
+    public AccountBalanceServiceImpl(FeignExternalService webClient,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${feign.client.config.account-service.url}") String accountServiceUrl,
+                                     @Value("${card.balance.batch.enabled:false}") boolean batchEnabled,
+                                     @Value("${card.balance.batch.path:/v1/accounts/balances}") String batchPath,
+                                     @Value("${card.balance.batch.max-size:50}") int maxBatchSize,
+                                     @Value("${card.balance.batch.window:5ms}") Duration window,
+                                     @Value("${card.balance.batch.max-concurrent:16}") int maxConcurrentBatches,
+                                     @Value("${card.cache.balances.max-size:10000}") long cacheMaxSize,
+                                     @Value("${card.cache.balances.ttl:2s}") Duration cacheTtl,
+                                     @Value("${card.cache.balances.stale-ttl:5m}") Duration staleTtl) {
+        this.webClient = webClient;
+        this.accountServiceUrl = accountServiceUrl;
+        this.batchPath = batchPath;
+        this.coalescer = batchEnabled
+                ? new BatchCoalescer<>(this::getBalances, BalanceResponse::getAccountId,
+                        maxBatchSize, window, maxConcurrentBatches)
+                : null;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "balances");
+        this.lastKnown = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(staleTtl)
+                .build();
+        this.avoidedRequests = Counter.builder("card.balance.requests.avoided")
+                .description("Balance lookups answered without calling account-service")
+                .register(meterRegistry);
+        this.staleResponses = Counter.builder("card.balance.responses.stale")
+                .description("Display balance lookups answered from the last known balance after a failure")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<BalanceResponse> getBalance(String accountId, boolean requireFresh) {
+        if (requireFresh) {
+            return fetchBalance(accountId)
+                    .doOnNext(balance -> cache.put(accountId, CompletableFuture.completedFuture(balance)));
+        }
+        return Mono.defer(() -> {
+            AtomicBoolean loaded = new AtomicBoolean();
+            CompletableFuture<BalanceResponse> balance = cache.get(accountId, (id, executor) -> {
+                loaded.set(true);
+                return fetchBalance(id).toFuture();
+            });
+            if (!loaded.get()) {
+                avoidedRequests.increment();
+            }
+            return Mono.fromFuture(balance, true);
+        }).onErrorResume(ex -> {
+            BalanceResponse stale = lastKnown.getIfPresent(accountId);
+            if (stale == null) {
+                return Mono.error(ex);
+            }
+            log.warn(STALE_BALANCE_MESSAGE, accountId, ex.getMessage());
+            staleResponses.increment();
+            return Mono.just(stale);
+        });
+    }
+
+    @Override
+    public void evict(String accountId) {
+        if (accountId != null) {
+            cache.synchronous().invalidate(accountId);
+        }
+    }
+
+    @Override
+    public Flux<BalanceResponse> getBalances(Collection<String> accountIds) {
+        if (accountIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return webClient.post(OPERATION_ACCOUNT_BALANCES, accountServiceUrl.concat(batchPath),
+                        Map.of("accountIds", accountIds),
+                        BalanceResponse[].class)
+                .flatMapMany(Flux::fromArray);
+    }
+
+    private Mono<BalanceResponse> fetchBalance(String accountId) {
+        Mono<BalanceResponse> balance = coalescer != null
+                ? coalescer.load(accountId)
+                : Mono.from(webClient.get(OPERATION_ACCOUNT_BALANCE, accountServiceUrl.concat(BALANCE_PATH),
+                        accountId,
+                        BalanceResponse.class,
+                        false));
+        return balance.doOnNext(response -> lastKnown.put(accountId, response));
+    }
+
+    @PreDestroy
+    void close() {
+        if (coalescer != null) {
+            coalescer.dispose();
+        }
+    }
+}
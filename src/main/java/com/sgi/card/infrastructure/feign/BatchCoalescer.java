@@ -0,0 +1,104 @@
+package com.sgi.card.infrastructure.feign;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Gathers single-key lookups issued concurrently by different callers and resolves them with one batched call.
+ * A batch is dispatched when it reaches {@code maxBatchSize} keys or when {@code window} elapses, whichever
+ * comes first. Duplicate keys inside a batch are requested once and the value is fanned out to every caller.
+ * Lookups whose caller cancelled before dispatch are dropped, and a batch left with none is not sent at all.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+@Slf4j
+class BatchCoalescer<K, V> {
+
+    private static final Duration EMIT_RETRY = Duration.ofMillis(100);
+
+    private final Sinks.Many<PendingLookup<K, V>> requests = Sinks.many().unicast().onBackpressureBuffer();
+    private final Function<Collection<K>, Flux<V>> batchLoader;
+    private final Function<V, K> keyExtractor;
+    private final Disposable subscription;
+
+    BatchCoalescer(Function<Collection<K>, Flux<V>> batchLoader,
+                   Function<V, K> keyExtractor,
+                   int maxBatchSize,
+                   Duration window,
+                   int maxConcurrentBatches) {
+        this.batchLoader = batchLoader;
+        this.keyExtractor = keyExtractor;
+        this.subscription = requests.asFlux()
+                .bufferTimeout(maxBatchSize, window, true)
+                .flatMapIterable(batch -> partition(batch, maxBatchSize))
+                .onBackpressureBuffer()
+                .flatMap(this::dispatch, maxConcurrentBatches)
+                .subscribe();
+    }
+
+    Mono<V> load(K key) {
+        return Mono.create(sink -> {
+            PendingLookup<K, V> lookup = new PendingLookup<>(key, sink, new AtomicBoolean());
+            sink.onCancel(() -> lookup.cancelled().set(true));
+            requests.emitNext(lookup, Sinks.EmitFailureHandler.busyLooping(EMIT_RETRY));
+        });
+    }
+
+    void dispose() {
+        requests.tryEmitComplete();
+        subscription.dispose();
+    }
+
+    private Mono<Void> dispatch(List<PendingLookup<K, V>> batch) {
+        Map<K, List<MonoSink<V>>> waiting = new HashMap<>();
+        batch.stream()
+                .filter(lookup -> !lookup.cancelled().get())
+                .forEach(lookup -> waiting.computeIfAbsent(lookup.key(), key -> new ArrayList<>()).add(lookup.sink()));
+        if (waiting.isEmpty()) {
+            return Mono.empty();
+        }
+        return batchLoader.apply(new ArrayList<>(waiting.keySet()))
+                .doOnNext(value -> {
+                    List<MonoSink<V>> sinks = waiting.remove(keyExtractor.apply(value));
+                    if (sinks != null) {
+                        sinks.forEach(sink -> sink.success(value));
+                    }
+                })
+                .doOnComplete(() -> waiting.values().forEach(sinks -> sinks.forEach(MonoSink::success)))
+                .doOnError(ex -> waiting.values().forEach(sinks -> sinks.forEach(sink -> sink.error(ex))))
+                .onErrorResume(ex -> Mono.empty())
+                .then();
+    }
+
+    /**
+     * Buffers are cut with the fair-backpressure {@code bufferTimeout}: the default variant can hand over more
+     * elements than its maximum, or strand a lookup, when the window closes while lookups keep arriving. Oversized
+     * buffers are still split so every downstream call stays within the limit.
+     */
+    private static <T> List<List<T>> partition(List<T> batch, int maxBatchSize) {
+        if (batch.size() <= maxBatchSize) {
+            return List.of(batch);
+        }
+        List<List<T>> parts = new ArrayList<>();
+        for (int from = 0; from < batch.size(); from += maxBatchSize) {
+            parts.add(batch.subList(from, Math.min(batch.size(), from + maxBatchSize)));
+        }
+        return parts;
+    }
+
+    private record PendingLookup<K, V>(K key, MonoSink<V> sink, AtomicBoolean cancelled) {}
+}
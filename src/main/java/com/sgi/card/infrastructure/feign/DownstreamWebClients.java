@@ -0,0 +1,87 @@
+package com.sgi.card.infrastructure.feign;
+
+import com.sgi.card.infrastructure.config.HttpClientProperties;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One WebClient per downstream service, each with its own Reactor Netty connection pool.
+ * Requests are routed to the client whose base URL ({@code feign.client.config.<name>.url}) prefixes the
+ * request URL; any other URL uses the default client. Pool metrics (active, idle, pending connections) are
+ * published through Micrometer as {@code reactor.netty.connection.provider.*} tagged with the downstream name.
+ */
+@Slf4j
+@Component
+public class DownstreamWebClients {
+
+    private final Map<String, WebClient> clientsByUrl = new LinkedHashMap<>();
+    private final Map<String, ConnectionProvider> providers = new LinkedHashMap<>();
+    private final WebClient defaultClient;
+
+    public DownstreamWebClients(WebClient.Builder webClientBuilder,
+                                HttpClientProperties properties,
+                                Environment environment) {
+        this.defaultClient = webClientBuilder.build();
+        properties.getClients().forEach((name, client) -> {
+            String url = environment.getProperty("feign.client.config." + name + ".url");
+            if (!StringUtils.hasText(url)) {
+                log.warn("No url configured for downstream {}, it will use the default client", name);
+                return;
+            }
+            ConnectionProvider provider = connectionProvider(name, client);
+            providers.put(name, provider);
+            clientsByUrl.put(url, webClientBuilder.clone()
+                    .clientConnector(new ReactorClientHttpConnector(httpClient(provider, client)))
+                    .codecs(codecs -> codecs.defaultCodecs()
+                            .maxInMemorySize((int) client.getMaxInMemorySize().toBytes()))
+                    .build());
+        });
+    }
+
+    public WebClient forUrl(String url) {
+        return clientsByUrl.entrySet().stream()
+                .filter(entry -> url.startsWith(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(defaultClient);
+    }
+
+    @PreDestroy
+    public void dispose() {
+        providers.values().forEach(ConnectionProvider::dispose);
+    }
+
+    private static ConnectionProvider connectionProvider(String name, HttpClientProperties.Client client) {
+        return ConnectionProvider.builder(name)
+                .maxConnections(client.getMaxConnections())
+                .pendingAcquireMaxCount(client.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(client.getPendingAcquireTimeout())
+                .maxIdleTime(client.getMaxIdleTime())
+                .maxLifeTime(client.getMaxLifeTime())
+                .evictInBackground(client.getEvictInBackground())
+                .metrics(true)
+                .build();
+    }
+
+    private static HttpClient httpClient(ConnectionProvider provider, HttpClientProperties.Client client) {
+        return HttpClient.create(provider)
+                .protocol(client.isHttp2()
+                        ? new HttpProtocol[]{HttpProtocol.H2C, HttpProtocol.HTTP11}
+                        : new HttpProtocol[]{HttpProtocol.HTTP11})
+                .keepAlive(client.isKeepAlive())
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) client.getConnectTimeout().toMillis())
+                .responseTimeout(client.getResponseTimeout());
+    }
+}
@@ -3,72 +3,192 @@ package com.sgi.card.infrastructure.feign;
 import com.sgi.card.domain.ports.out.FeignExternalService;
 import com.sgi.card.domain.shared.CustomError;
 import com.sgi.card.infrastructure.exception.CustomException;
+import com.sgi.card.infrastructure.logging.LogSampler;
+import com.sgi.card.infrastructure.logging.LogSamplers;
+import com.sgi.card.infrastructure.metrics.StageTimer;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import lombok.extern.slf4j.Slf4j;
 import org.reactivestreams.Publisher;
 import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreaker;
 import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import static com.sgi.card.domain.shared.Constants.EXTERNAL_REQUEST_ERROR_FORMAT;
+import static com.sgi.card.domain.shared.Constants.EXTERNAL_REQUEST_SAMPLED_FORMAT;
 import static com.sgi.card.domain.shared.Constants.EXTERNAL_REQUEST_SUCCESS_FORMAT;
+import static com.sgi.card.infrastructure.metrics.StageTimer.DOWNSTREAM;
+import static net.logstash.logback.argument.StructuredArguments.kv;
 
 /**
  * Implementation of the Feign external service to make HTTP requests in a reactive manner with Circuit Breaker support.
+ * Each downstream service is called through its own pooled client (see {@link DownstreamWebClients}).
+ * Every operation has its own circuit breaker and bulkhead, configured through
+ * {@code resilience4j.circuitbreaker.instances.<operation>} and {@code resilience4j.bulkhead.instances.<operation>},
+ * or the {@code default} configs otherwise; calls rejected by either fail fast with
+ * {@link CustomError#E_SERVICE_UNAVAILABLE}.
+ * Every call is timed as {@code card.downstream} tagged with its operation, including time spent in the bulkhead.
+ * Response payloads are only logged at DEBUG; at INFO one successful call out of every
+ * {@code card.logging.sample-rate.downstream} is logged with its operation and url as structured fields.
  */
 @Slf4j
 @Service
 public class FeignExternalServiceImpl implements FeignExternalService {
 
-    private final WebClient webClient;
-    private final ReactiveCircuitBreaker circuitBreaker;
+    // Read by the WebClient observation as the uri tag; the operation name keeps it low-cardinality.
+    private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName() + ".uriTemplate";
+    private static final String OPERATION_TAG = "operation";
+
+    private final DownstreamWebClients webClients;
+    private final StageTimer stageTimer;
+    private final ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final LogSampler logSampler;
+    private final Map<String, ReactiveCircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
 
-    public FeignExternalServiceImpl(WebClient.Builder webClientBuilder,
-                                    ReactiveCircuitBreakerFactory circuitBreakerFactory) {
-        this.webClient = webClientBuilder.build();
-        this.circuitBreaker = circuitBreakerFactory.create("card-service");
+    public FeignExternalServiceImpl(DownstreamWebClients webClients,
+                                    StageTimer stageTimer,
+                                    ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory,
+                                    CircuitBreakerRegistry circuitBreakerRegistry,
+                                    BulkheadRegistry bulkheadRegistry,
+                                    LogSamplers logSamplers) {
+        this.webClients = webClients;
+        this.stageTimer = stageTimer;
+        this.circuitBreakerFactory = circuitBreakerFactory;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.logSampler = logSamplers.forCategory(LogSamplers.DOWNSTREAM);
     }
 
     @Override
-    public <T, R> Mono<R> post(String url, T requestBody, Class<R> responseType) {
-        return webClient.post()
+    public <T, R> Mono<R> post(String operation, String url, T requestBody, Class<R> responseType) {
+        return webClients.forUrl(url).post()
                 .uri(url)
+                .attribute(URI_TEMPLATE_ATTRIBUTE, operation)
                 .bodyValue(requestBody)
                 .retrieve()
                 .bodyToMono(responseType)
-                .doOnNext(response -> logSuccess(url, response))
+                .doOnNext(response -> logSuccess(operation, url, response))
                 .doOnError(ex -> logError(url, ex))
                 .onErrorResume(ex -> Mono.error(new CustomException(CustomError.E_OPERATION_FAILED)))
-                .transformDeferred(circuitBreaker::run);
+                .transformDeferred(circuitBreaker(operation)::run)
+                .transformDeferred(BulkheadOperator.of(bulkhead(operation)))
+                .onErrorMap(FeignExternalServiceImpl::isRejection,
+                        ex -> new CustomException(CustomError.E_SERVICE_UNAVAILABLE))
+                .transform(stageTimer.mono(DOWNSTREAM, OPERATION_TAG, operation));
     }
 
 
     @Override
-    public <R> Publisher<R> get(String url, String pathVariable, Class<R> responseType, boolean isFlux) {
-        var responseSpec = webClient.get()
+    public <R> Publisher<R> get(String operation, String url, String pathVariable, Class<R> responseType,
+                                boolean isFlux) {
+        var responseSpec = webClients.forUrl(url).get()
                 .uri(url, pathVariable)
+                .attribute(URI_TEMPLATE_ATTRIBUTE, operation)
                 .retrieve();
         if (isFlux) {
             return responseSpec.bodyToFlux(responseType)
-                    .doOnNext(response -> logSuccess(url, response))
+                    .doOnNext(response -> logPayload(url, response))
+                    .doOnComplete(() -> logSampled(operation, url))
                     .doOnError(ex -> logError(url, ex))
                     .onErrorResume(ex
                             -> Flux.error(new CustomException(CustomError.E_OPERATION_FAILED)))
-                    .transformDeferred(circuitBreaker::run);
+                    .transformDeferred(circuitBreaker(operation)::run)
+                    .transformDeferred(BulkheadOperator.of(bulkhead(operation)))
+                    .onErrorMap(FeignExternalServiceImpl::isRejection,
+                            ex -> new CustomException(CustomError.E_SERVICE_UNAVAILABLE))
+                    .transform(stageTimer.flux(DOWNSTREAM, OPERATION_TAG, operation));
         } else {
             return responseSpec.bodyToMono(responseType)
-                    .doOnNext(response -> logSuccess(url, response))
+                    .doOnNext(response -> logSuccess(operation, url, response))
                     .doOnError(ex -> logError(url, ex))
                     .onErrorResume(ex
                             -> Mono.error(new CustomException(CustomError.E_OPERATION_FAILED)))
-                    .transformDeferred(circuitBreaker::run);
+                    .transformDeferred(circuitBreaker(operation)::run)
+                    .transformDeferred(BulkheadOperator.of(bulkhead(operation)))
+                    .onErrorMap(FeignExternalServiceImpl::isRejection,
+                            ex -> new CustomException(CustomError.E_SERVICE_UNAVAILABLE))
+                    .transform(stageTimer.mono(DOWNSTREAM, OPERATION_TAG, operation));
+        }
+    }
+
+    /**
+     * The circuit breaker and bulkhead guard the call until the response headers arrive; the body is guarded again
+     * by the same circuit breaker and timed as it streams, so a downstream that fails mid-body is recorded. The body
+     * goes through the breaker alone, without the factory's time limiter, so a long stream is not cut off.
+     * Buffers dropped because the client went away are released.
+     */
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> stream(String operation, String url) {
+        return webClients.forUrl(url).get()
+                .uri(url)
+                .attribute(URI_TEMPLATE_ATTRIBUTE, operation)
+                .retrieve()
+                .toEntityFlux(DataBuffer.class)
+                .map(entity -> new ResponseEntity<>(streamBody(operation, url, entity.getBody()),
+                        entity.getHeaders(), entity.getStatusCode()))
+                .doOnError(ex -> logError(url, ex))
+                .onErrorResume(ex -> Mono.error(new CustomException(CustomError.E_OPERATION_FAILED)))
+                .transformDeferred(circuitBreaker(operation)::run)
+                .transformDeferred(BulkheadOperator.of(bulkhead(operation)))
+                .onErrorMap(FeignExternalServiceImpl::isRejection,
+                        ex -> new CustomException(CustomError.E_SERVICE_UNAVAILABLE));
+    }
+
+    private Flux<DataBuffer> streamBody(String operation, String url, Flux<DataBuffer> body) {
+        return Flux.defer(() -> body == null ? Flux.empty() : body)
+                .doOnComplete(() -> logSampled(operation, url))
+                .doOnError(ex -> logError(url, ex))
+                .onErrorResume(ex -> Flux.error(new CustomException(CustomError.E_OPERATION_FAILED)))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(operation)))
+                .onErrorMap(FeignExternalServiceImpl::isRejection,
+                        ex -> new CustomException(CustomError.E_SERVICE_UNAVAILABLE))
+                .transform(stageTimer.flux(DOWNSTREAM, OPERATION_TAG, operation))
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    private ReactiveCircuitBreaker circuitBreaker(String operation) {
+        return circuitBreakers.computeIfAbsent(operation, circuitBreakerFactory::create);
+    }
+
+    private Bulkhead bulkhead(String operation) {
+        return bulkheadRegistry.bulkhead(operation);
+    }
+
+    private static boolean isRejection(Throwable ex) {
+        return ex instanceof CallNotPermittedException || ex instanceof BulkheadFullException;
+    }
+
+    private <R> void logSuccess(String operation, String url, R response) {
+        logPayload(url, response);
+        logSampled(operation, url);
+    }
+
+    private <R> void logPayload(String url, R response) {
+        if (log.isDebugEnabled()) {
+            log.debug(EXTERNAL_REQUEST_SUCCESS_FORMAT, url, response);
         }
     }
 
-    private <R> void logSuccess(String url, R response) {
-        log.info(EXTERNAL_REQUEST_SUCCESS_FORMAT, url, response);
+    private void logSampled(String operation, String url) {
+        if (log.isInfoEnabled() && logSampler.sample()) {
+            log.info(EXTERNAL_REQUEST_SAMPLED_FORMAT, kv(OPERATION_TAG, operation), kv("url", url));
+        }
     }
 
     private void logError(String url, Throwable ex) {
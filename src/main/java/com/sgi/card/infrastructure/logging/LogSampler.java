@@ -0,0 +1,24 @@
+package com.sgi.card.infrastructure.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides which occurrences of a frequent log statement are written.
+ * A rate of {@code n} keeps one statement out of every {@code n}; 1 keeps all of them and 0 or less keeps none.
+ */
+public final class LogSampler {
+
+    private final int rate;
+    private final AtomicLong counter = new AtomicLong();
+
+    public LogSampler(int rate) {
+        this.rate = rate;
+    }
+
+    public boolean sample() {
+        if (rate <= 0) {
+            return false;
+        }
+        return rate == 1 || counter.getAndIncrement() % rate == 0;
+    }
+}
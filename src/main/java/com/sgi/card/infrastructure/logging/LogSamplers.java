@@ -0,0 +1,29 @@
+package com.sgi.card.infrastructure.logging;
+
+import com.sgi.card.infrastructure.config.LoggingProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link LogSampler} per log category, with the rate configured in {@code card.logging.sample-rate.<category>}.
+ */
+@Component
+@RequiredArgsConstructor
+public class LogSamplers {
+
+    public static final String DOWNSTREAM = "downstream";
+    public static final String KAFKA = "kafka";
+    public static final String PAYMENTS = "payments";
+    public static final String ORCHESTRATOR = "orchestrator";
+
+    private final LoggingProperties properties;
+    private final Map<String, LogSampler> samplers = new ConcurrentHashMap<>();
+
+    public LogSampler forCategory(String category) {
+        return samplers.computeIfAbsent(category, name -> new LogSampler(
+                properties.getSampleRate().getOrDefault(name, properties.getDefaultSampleRate())));
+    }
+}
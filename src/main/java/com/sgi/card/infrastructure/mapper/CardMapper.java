@@ -2,6 +2,7 @@ package com.sgi.card.infrastructure.mapper;
 
 import com.sgi.card.domain.model.Card;
 import com.sgi.card.infrastructure.dto.BalanceResponse;
+import com.sgi.card.infrastructure.dto.CardPatchRequest;
 import com.sgi.card.infrastructure.dto.CardRequest;
 import com.sgi.card.infrastructure.dto.CardResponse;
 import org.mapstruct.Mapper;
@@ -12,6 +13,8 @@ import reactor.core.publisher.Mono;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Mapper
 public interface CardMapper {
@@ -22,13 +25,43 @@ public interface CardMapper {
     CardResponse toCardResponse(Card card);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Card toCard(CardRequest  cardRequest);
 
+    @Mapping(target = "version", ignore = true)
     Card created(CardRequest card);
 
     @Mapping(target = "cardId", source = "cardId")
     BalanceResponse toBalance(BalanceResponse balanceResponse, String cardId);
 
+    /**
+     * Fields present in the patch, keyed by their {@link Card} field name; explicit nulls are kept as null values.
+     */
+    default Map<String, Object> toChanges(CardPatchRequest patch) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        patch.getExpirationDate().ifPresent(value -> changes.put("expirationDate", map(value)));
+        patch.getType().ifPresent(value -> changes.put("type", value == null ? null : value.getValue()));
+        patch.getMainAccountId().ifPresent(value -> changes.put("mainAccountId", value));
+        patch.getAssociatedAccountIds().ifPresent(value -> changes.put("associatedAccountIds", value));
+        patch.getClientId().ifPresent(value -> changes.put("clientId", value));
+        return changes;
+    }
+
+    /**
+     * Every field a replacement writes, keyed by its {@link Card} field name; fields missing from the request are
+     * null values, so the replacement removes them.
+     */
+    default Map<String, Object> toReplacement(CardRequest request) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("cardNumber", request.getCardNumber());
+        fields.put("expirationDate", map(request.getExpirationDate()));
+        fields.put("type", request.getType() == null ? null : request.getType().getValue());
+        fields.put("mainAccountId", request.getMainAccountId());
+        fields.put("associatedAccountIds", request.getAssociatedAccountIds());
+        fields.put("clientId", request.getClientId());
+        return fields;
+    }
+
     default Mono<Card> map(Mono<CardRequest> cardRequestMono) {
         return cardRequestMono.map(this::created);
     }
@@ -3,11 +3,15 @@ package com.sgi.card.infrastructure.mapper;
 import com.sgi.card.domain.model.Card;
 import com.sgi.card.infrastructure.dto.BalanceResponse;
 import com.sgi.card.infrastructure.dto.PaymentRequest;
+import com.sgi.card.infrastructure.dto.PaymentResponse;
 import com.sgi.card.infrastructure.subscriber.events.OrchestratorEvent;
+import com.sgi.card.infrastructure.subscriber.events.OrchestratorEventResponse;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
+import static com.sgi.card.domain.shared.Constants.PAYMENT_COMPLETED_MESSAGE;
+
 @Mapper
 public interface ExternalOrchestratorDataMapper {
 
@@ -17,5 +21,17 @@ public interface ExternalOrchestratorDataMapper {
     @Mapping(target = "clientId", source = "card.clientId")
     @Mapping(target = "cardId", source = "card.id")
     @Mapping(target = "balance", source = "balance.accountBalance")
+    @Mapping(target = "correlationId", ignore = true)
     OrchestratorEvent toOrchestratorEvent(Card card, BalanceResponse balance, PaymentRequest payment);
+
+    @Mapping(target = "message", ignore = true)
+    PaymentResponse toPaymentResponse(OrchestratorEventResponse response);
+
+    default PaymentResponse toCompletedPaymentResponse(OrchestratorEventResponse response) {
+        return toPaymentResponse(response).message(PAYMENT_COMPLETED_MESSAGE);
+    }
+
+    @Mapping(target = "message", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    PaymentResponse toPaymentResponse(OrchestratorEvent event);
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.sgi.card.infrastructure.metrics;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import reactor.core.observability.micrometer.Micrometer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Observes a stage of a reactive pipeline, from subscription to termination.
+ * Each stage produces a timer named after the stage family and tagged with the stage (plus a status tag), and a
+ * span that is a child of the current trace. Percentile histograms are enabled per family in
+ * {@code management.metrics.distribution.percentiles-histogram}.
+ * Families: {@code card.stage} (payment steps), {@code card.downstream} (HTTP operations),
+ * {@code card.mongo} (repository operations) and {@code card.kafka.consume} (reactive consumer topics).
+ */
+@Component
+public class StageTimer {
+
+    public static final String STAGE = "card.stage";
+    public static final String DOWNSTREAM = "card.downstream";
+    public static final String MONGO = "card.mongo";
+    public static final String KAFKA_CONSUME = "card.kafka.consume";
+
+    private final ObservationRegistry observationRegistry;
+
+    public StageTimer(ObjectProvider<ObservationRegistry> observationRegistry) {
+        this.observationRegistry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+    }
+
+    public <T> Function<Mono<T>, Mono<T>> mono(String family, String tag, String stage) {
+        return source -> source.name(family)
+                .tag(tag, stage)
+                .tap(Micrometer.observation(observationRegistry));
+    }
+
+    public <T> Function<Flux<T>, Flux<T>> flux(String family, String tag, String stage) {
+        return source -> source.name(family)
+                .tag(tag, stage)
+                .tap(Micrometer.observation(observationRegistry));
+    }
+}
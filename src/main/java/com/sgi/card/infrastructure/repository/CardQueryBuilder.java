@@ -0,0 +1,102 @@
+package com.sgi.card.infrastructure.repository;
+
+import com.sgi.card.domain.shared.CustomError;
+import com.sgi.card.infrastructure.exception.CustomException;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builds queries over the cards collection from whichever filters are present.
+ * Filters are AND-combined and results are ordered by id, matching the equality-then-sort shape of the
+ * indexes declared on {@link com.sgi.card.domain.model.Card}.
+ */
+public final class CardQueryBuilder {
+
+    private static final Set<String> PROJECTABLE_FIELDS = Set.of("id", "cardNumber", "expirationDate", "type",
+            "mainAccountId", "associatedAccountIds", "clientId");
+
+    private final List<Criteria> criteria = new ArrayList<>();
+    private final List<String> fields = new ArrayList<>();
+    private int limit;
+    private int batchSize;
+
+    private CardQueryBuilder() {
+    }
+
+    public static CardQueryBuilder cards() {
+        return new CardQueryBuilder();
+    }
+
+    public CardQueryBuilder withId(String cardId) {
+        return where("id", cardId);
+    }
+
+    public CardQueryBuilder withClientId(String clientId) {
+        return where("clientId", clientId);
+    }
+
+    public CardQueryBuilder withType(String type) {
+        return where("type", type);
+    }
+
+    /**
+     * Keyset pagination: only cards whose id is greater than the cursor are returned.
+     */
+    public CardQueryBuilder after(String cursor) {
+        if (cursor != null) {
+            if (!ObjectId.isValid(cursor)) {
+                throw new CustomException(CustomError.E_MALFORMED_CARD_DATA);
+            }
+            criteria.add(Criteria.where("id").gt(new ObjectId(cursor)));
+        }
+        return this;
+    }
+
+    public CardQueryBuilder limit(Integer limit, int maxLimit) {
+        if (limit != null && limit > 0) {
+            this.limit = Math.min(limit, maxLimit);
+        }
+        return this;
+    }
+
+    public CardQueryBuilder fields(List<String> fields) {
+        if (fields != null && !fields.isEmpty()) {
+            if (!PROJECTABLE_FIELDS.containsAll(fields)) {
+                throw new CustomException(CustomError.E_MALFORMED_CARD_DATA);
+            }
+            this.fields.addAll(fields);
+        }
+        return this;
+    }
+
+    public CardQueryBuilder batchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    public Query build() {
+        Query query = criteria.isEmpty() ? new Query() : new Query(new Criteria().andOperator(criteria));
+        query.with(Sort.by(Sort.Direction.ASC, "id"));
+        if (limit > 0) {
+            query.limit(limit);
+        }
+        if (batchSize > 0) {
+            query.cursorBatchSize(batchSize);
+        }
+        fields.forEach(query.fields()::include);
+        return query;
+    }
+
+    private CardQueryBuilder where(String field, String value) {
+        if (value != null) {
+            criteria.add(Criteria.where(field).is(value));
+        }
+        return this;
+    }
+}
@@ -0,0 +1,153 @@
+package com.sgi.card.infrastructure.repository.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sgi.card.domain.model.Card;
+import com.sgi.card.domain.ports.out.CardCache;
+import com.sgi.card.domain.ports.out.CardRepository;
+import com.sgi.card.domain.shared.CustomError;
+import com.sgi.card.infrastructure.dto.CardResponse;
+import com.sgi.card.infrastructure.subscriber.message.CardChangePublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Near-cache decorator of {@link CardRepositoryImpl}.
+ * Keeps a bounded, TTL-evicted in-process copy of card documents. Concurrent lookups of the same card share
+ * a single Mongo read, and writes made through this repository invalidate the cached entry locally and,
+ * through {@link CardChangePublisher}, on every other instance.
+ * Hit, miss and eviction counters are published as the {@code cards} cache metrics.
+ */
+@Slf4j
+@Primary
+@Repository
+public class CachedCardRepository implements CardRepository, CardCache {
+
+    private final CardRepository delegate;
+    private final CardChangePublisher cardChangePublisher;
+    private final AsyncCache<String, Card> cache;
+
+    public CachedCardRepository(CardRepositoryImpl delegate,
+                                CardChangePublisher cardChangePublisher,
+                                MeterRegistry meterRegistry,
+                                @Value("${card.cache.cards.max-size:10000}") long maxSize,
+                                @Value("${card.cache.cards.ttl:5m}") Duration ttl) {
+        this.delegate = delegate;
+        this.cardChangePublisher = cardChangePublisher;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "cards");
+    }
+
+    @Override
+    public Mono<CardResponse> save(Card card) {
+        String cardId = card.getId();
+        return changing(cardId, delegate.save(card));
+    }
+
+    @Override
+    public Mono<Map<Integer, CustomError>> insertAll(List<Card> cards) {
+        return delegate.insertAll(cards);
+    }
+
+    @Override
+    public Mono<Card> findById(String cardId) {
+        return Mono.fromFuture(() -> cache.get(cardId, (id, executor) -> delegate.findById(id).toFuture()), true)
+                .map(CachedCardRepository::copyOf);
+    }
+
+    @Override
+    public Mono<CardResponse> update(String cardId, Map<String, Object> changes, Long expectedVersion) {
+        return changing(cardId, delegate.update(cardId, changes, expectedVersion));
+    }
+
+    @Override
+    public Mono<CardResponse> associateAccount(String cardId, String accountId) {
+        return changing(cardId, delegate.associateAccount(cardId, accountId));
+    }
+
+    @Override
+    public Mono<CardResponse> associateAccounts(String cardId, Collection<String> accountIds) {
+        return changing(cardId, delegate.associateAccounts(cardId, accountIds));
+    }
+
+    @Override
+    public Mono<CardResponse> disassociateAccounts(String cardId, Collection<String> accountIds) {
+        return changing(cardId, delegate.disassociateAccounts(cardId, accountIds));
+    }
+
+    @Override
+    public Flux<CardResponse> findAll(String clientId, String type, String cardId,
+                                      String cursor, Integer limit, List<String> fields) {
+        return delegate.findAll(clientId, type, cardId, cursor, limit, fields);
+    }
+
+    @Override
+    public Mono<Void> delete(Card card) {
+        return delegate.delete(card)
+                .doFinally(signal -> changed(card.getId(), null));
+    }
+
+    @Override
+    public void evict(Map<String, Long> versions) {
+        versions.forEach((cardId, version) -> cache.asMap().computeIfPresent(cardId,
+                (id, cached) -> isAtLeast(cached, version) ? cached : null));
+    }
+
+    /**
+     * Runs a write and reports the card as changed with the version it returned, or with an unknown version when
+     * the write failed or was cancelled.
+     */
+    private Mono<CardResponse> changing(String cardId, Mono<CardResponse> write) {
+        AtomicReference<Long> version = new AtomicReference<>();
+        return write.doOnNext(response -> version.set(response.getVersion()))
+                .doFinally(signal -> changed(cardId, version.get()));
+    }
+
+    /**
+     * Evicts a mutated card locally and notifies the other instances.
+     * Newly created cards have no id before saving and are never cached, so there is nothing to invalidate.
+     */
+    private void changed(String cardId, Long version) {
+        if (cardId != null) {
+            cache.synchronous().invalidate(cardId);
+            cardChangePublisher.publish(cardId, version);
+        }
+    }
+
+    private static boolean isAtLeast(CompletableFuture<Card> cached, Long version) {
+        if (version == null || !cached.isDone() || cached.isCompletedExceptionally()) {
+            return false;
+        }
+        Card card = cached.join();
+        return card != null && card.getVersion() != null && card.getVersion() >= version;
+    }
+
+    /**
+     * Cached instances are shared between requests, so callers always receive their own mutable copy.
+     */
+    private static Card copyOf(Card card) {
+        return card.toBuilder()
+                .associatedAccountIds(card.getAssociatedAccountIds() == null
+                        ? null
+                        : new ArrayList<>(card.getAssociatedAccountIds()))
+                .build();
+    }
+}
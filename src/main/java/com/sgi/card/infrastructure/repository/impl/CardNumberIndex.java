@@ -0,0 +1,76 @@
+package com.sgi.card.infrastructure.repository.impl;
+
+import com.sgi.card.domain.model.Card;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static com.sgi.card.domain.shared.Constants.CARD_NUMBER_DUPLICATES;
+import static com.sgi.card.domain.shared.Constants.CARD_NUMBER_INDEX_ERROR;
+
+/**
+ * Creates the unique {@code card_number_index} on startup instead of leaving it to index auto-creation.
+ * Cards numbered at random before the sequence may share a number, and building the index over them would fail,
+ * so the stored numbers are checked first: when some are shared, they are logged for cleanup and the index is
+ * left out until a later start finds none.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CardNumberIndex {
+
+    public static final String NAME = "card_number_index";
+
+    private static final String CARD_NUMBER = "cardNumber";
+    private static final String COUNT = "count";
+    private static final int REPORTED_DUPLICATES = 20;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        ensure().subscribe(null, error -> log.error(CARD_NUMBER_INDEX_ERROR, error));
+    }
+
+    /**
+     * @return whether the index exists afterwards, false while card numbers are still shared.
+     */
+    public Mono<Boolean> ensure() {
+        return duplicates()
+                .flatMap(duplicates -> {
+                    if (!duplicates.isEmpty()) {
+                        log.error(CARD_NUMBER_DUPLICATES, duplicates);
+                        return Mono.just(false);
+                    }
+                    return mongoTemplate.indexOps(Card.class)
+                            .ensureIndex(new Index(CARD_NUMBER, Sort.Direction.ASC).named(NAME).unique())
+                            .thenReturn(true);
+                });
+    }
+
+    /**
+     * Up to {@value #REPORTED_DUPLICATES} numbers held by more than one card.
+     */
+    private Mono<List<String>> duplicates() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                        Aggregation.group(CARD_NUMBER).count().as(COUNT),
+                        Aggregation.match(Criteria.where(COUNT).gt(1)),
+                        Aggregation.limit(REPORTED_DUPLICATES))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        return mongoTemplate.aggregate(aggregation, Card.class, Document.class)
+                .map(group -> String.valueOf(group.get("_id")))
+                .collectList();
+    }
+}
@@ -1,18 +1,39 @@
 package com.sgi.card.infrastructure.repository.impl;
 
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
 import com.sgi.card.domain.model.Card;
 import com.sgi.card.domain.ports.out.CardRepository;
+import com.sgi.card.domain.shared.CustomError;
 import com.sgi.card.infrastructure.dto.CardResponse;
+import com.sgi.card.infrastructure.exception.CustomException;
 import com.sgi.card.infrastructure.mapper.CardMapper;
+import com.sgi.card.infrastructure.metrics.StageTimer;
+import com.sgi.card.infrastructure.repository.CardQueryBuilder;
 import com.sgi.card.infrastructure.repository.CardRepositoryJpa;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.Objects;
-import java.util.stream.Stream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.sgi.card.infrastructure.metrics.StageTimer.MONGO;
 
 /**
  * Implementation of the {@link CardRepository} interface.
@@ -23,30 +44,158 @@ import java.util.stream.Stream;
 @RequiredArgsConstructor
 public class CardRepositoryImpl implements CardRepository {
 
+    private static final String ID = "_id";
+    private static final String ACCOUNTS = "associatedAccountIds";
+    private static final String MAIN_ACCOUNT = "mainAccountId";
+    private static final String VERSION = "version";
+    private static final String OPERATION_TAG = "operation";
+
     private final CardRepositoryJpa repositoryJpa;
 
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    private final StageTimer stageTimer;
+
+    @Value("${card.cards.max-page-size:1000}")
+    private int maxPageSize;
+
+    @Value("${card.cards.cursor-batch-size:500}")
+    private int cursorBatchSize;
+
     @Override
     public Mono<CardResponse> save(Card card) {
         return repositoryJpa.save(card)
+                .transform(stageTimer.mono(MONGO, OPERATION_TAG, "save"))
+                .onErrorMap(DuplicateKeyException.class,
+                        ex -> new CustomException(CustomError.E_DUPLICATE_CARD_NUMBER))
                 .map(CardMapper.INSTANCE::toCardResponse);
     }
 
+    /**
+     * Unordered bulk insert: Mongo keeps writing after a failed document, and the failures are reported back
+     * by index. Ids are assigned up front so the stored cards can be returned without reading them back.
+     * The template translates the driver's {@link MongoBulkWriteException} into a {@link DataAccessException}
+     * (duplicate key or data integrity), so the per-document errors are read from its cause.
+     */
+    @Override
+    public Mono<Map<Integer, CustomError>> insertAll(List<Card> cards) {
+        if (cards.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        cards.stream()
+                .filter(card -> card.getId() == null)
+                .forEach(card -> card.setId(new ObjectId().toHexString()));
+        return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Card.class)
+                .insert(cards)
+                .execute()
+                .map(result -> Map.<Integer, CustomError>of())
+                .onErrorResume(DataAccessException.class, ex -> ex.getCause() instanceof MongoBulkWriteException bulk
+                        ? Mono.just(failures(bulk.getWriteErrors()))
+                        : Mono.error(ex))
+                .transform(stageTimer.mono(MONGO, OPERATION_TAG, "insert-many"));
+    }
+
     @Override
     public Mono<Card> findById(String cardId) {
-        return repositoryJpa.findById(cardId);
+        return repositoryJpa.findById(cardId)
+                .transform(stageTimer.mono(MONGO, OPERATION_TAG, "find-by-id"));
     }
 
     @Override
-    public Flux<CardResponse> findAll(String clientId, String type, String cardId) {
-        boolean allNull = Stream.of(clientId, type, cardId).allMatch(Objects::isNull);
-        Flux<Card> resultFlux = allNull
-                ? repositoryJpa.findAll()
-                : repositoryJpa.findAllByIdOrTypeOrClientId(cardId, type, clientId);
-        return resultFlux.map(CardMapper.INSTANCE::toCardResponse);
+    public Mono<CardResponse> update(String cardId, Map<String, Object> changes, Long expectedVersion) {
+        Criteria criteria = Criteria.where(ID).is(cardId);
+        if (expectedVersion != null) {
+            criteria = expectedVersion == 0
+                    ? criteria.and(VERSION).in(0L, null)
+                    : criteria.and(VERSION).is(expectedVersion);
+        }
+        Update update = new Update();
+        changes.forEach((field, value) -> {
+            if (value == null) {
+                update.unset(field);
+            } else {
+                update.set(field, value);
+            }
+        });
+        return modify(Query.query(criteria), update, cardId, CustomError.E_CARD_VERSION_CONFLICT);
+    }
+
+    /**
+     * Single {@code findAndModify}: the {@code $ne} guard makes the update match only when the account is not
+     * associated yet, and {@code $addToSet} appends it in place. Only when nothing matched is the card looked up,
+     * to tell a missing card from an already associated account.
+     */
+    @Override
+    public Mono<CardResponse> associateAccount(String cardId, String accountId) {
+        return modify(Query.query(Criteria.where(ID).is(cardId).and(ACCOUNTS).ne(accountId)),
+                new Update().addToSet(ACCOUNTS, accountId),
+                cardId,
+                CustomError.E_ACCOUNT_ALREADY_ASSOCIATED);
+    }
+
+    @Override
+    public Mono<CardResponse> associateAccounts(String cardId, Collection<String> accountIds) {
+        return modify(Query.query(Criteria.where(ID).is(cardId)),
+                new Update().addToSet(ACCOUNTS).each(accountIds.toArray()),
+                cardId,
+                CustomError.E_CARD_NOT_FOUND);
+    }
+
+    @Override
+    public Mono<CardResponse> disassociateAccounts(String cardId, Collection<String> accountIds) {
+        return modify(Query.query(Criteria.where(ID).is(cardId).and(MAIN_ACCOUNT).nin(accountIds)),
+                new Update().pullAll(ACCOUNTS, accountIds.toArray()),
+                cardId,
+                CustomError.E_MAIN_ACCOUNT_DISASSOCIATION);
+    }
+
+    /**
+     * Streams the cards matching every given filter, ordered by id and starting after {@code cursor}
+     * (keyset pagination on {@code _id}).
+     * Documents are pulled from Mongo in batches of {@code card.cards.cursor-batch-size} as the caller
+     * requests them, so a full listing runs in constant memory.
+     */
+    @Override
+    public Flux<CardResponse> findAll(String clientId, String type, String cardId,
+                                      String cursor, Integer limit, List<String> fields) {
+        return Mono.fromCallable(() -> CardQueryBuilder.cards()
+                        .withId(cardId)
+                        .withClientId(clientId)
+                        .withType(type)
+                        .after(cursor)
+                        .limit(limit, maxPageSize)
+                        .fields(fields)
+                        .batchSize(cursorBatchSize)
+                        .build())
+                .flatMapMany(query -> mongoTemplate.find(query, Card.class))
+                .transform(stageTimer.flux(MONGO, OPERATION_TAG, "find"))
+                .map(CardMapper.INSTANCE::toCardResponse);
     }
 
     @Override
     public Mono<Void> delete(Card card) {
-        return repositoryJpa.delete(card);
+        return repositoryJpa.delete(card)
+                .transform(stageTimer.mono(MONGO, OPERATION_TAG, "delete"));
+    }
+
+    private Mono<CardResponse> modify(Query query, Update update, String cardId, CustomError guardError) {
+        return mongoTemplate.findAndModify(query, update.inc(VERSION, 1),
+                        FindAndModifyOptions.options().returnNew(true), Card.class)
+                .transform(stageTimer.mono(MONGO, OPERATION_TAG, "find-and-modify"))
+                .switchIfEmpty(Mono.defer(() -> mongoTemplate
+                        .exists(Query.query(Criteria.where(ID).is(cardId)), Card.class)
+                        .flatMap(exists -> Mono.error(new CustomException(exists
+                                ? guardError
+                                : CustomError.E_CARD_NOT_FOUND)))))
+                .map(CardMapper.INSTANCE::toCardResponse);
+    }
+
+    private static Map<Integer, CustomError> failures(List<BulkWriteError> errors) {
+        Map<Integer, CustomError> failures = new HashMap<>();
+        errors.forEach(error -> failures.put(error.getIndex(),
+                error.getCategory() == ErrorCategory.DUPLICATE_KEY
+                        ? CustomError.E_DUPLICATE_CARD_NUMBER
+                        : CustomError.E_OPERATION_FAILED));
+        return failures;
     }
 }
@@ -0,0 +1,119 @@
+package com.sgi.card.infrastructure.repository.impl;
+
+import com.sgi.card.domain.model.OutboxEvent;
+import com.sgi.card.domain.ports.out.EventOutbox;
+import com.sgi.card.infrastructure.subscriber.message.EventCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Mongo implementation of the {@link EventOutbox} port.
+ * Besides queueing, it lets relays claim batches under a lease so several instances can drain the outbox
+ * concurrently without publishing the same event twice while the lease holds, nor the events of one key
+ * out of order.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class EventOutboxImpl implements EventOutbox {
+
+    private static final String HEAD_ID = "headId";
+    private static final String ID = "id";
+    private static final String KEY = "key";
+    private static final String CREATED_AT = "createdAt";
+    private static final String CLAIMED_UNTIL = "claimedUntil";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    private final EventCodec eventCodec;
+
+    @Value("${card.outbox.claim-scan:5000}")
+    private int claimScan;
+
+    @Override
+    public Mono<Void> enqueue(String key, Object event) {
+        return Mono.fromCallable(() -> OutboxEvent.builder()
+                        .topic(event.getClass().getSimpleName())
+                        .key(key)
+                        .payload(eventCodec.encode(event))
+                        .contentType(eventCodec.contentType())
+                        .createdAt(Instant.now())
+                        .claimedUntil(Instant.EPOCH)
+                        .build())
+                .flatMap(mongoTemplate::insert)
+                .then();
+    }
+
+    /**
+     * Claims the oldest {@code batchSize} heads (oldest event of a key) whose lease expired, without grouping the
+     * whole backlog. The keys whose head is under a live lease are read first, which is cheap since only claimed
+     * events carry one. The rest of the outbox is then read in creation order through the created index, at most
+     * {@code card.outbox.claim-scan} events, and the first event of each remaining key is taken: any older event
+     * of that key would be leased or earlier in the scan, so it is the head. Only heads are ever claimed, so two
+     * relays never publish events of the same card concurrently and a head whose send failed is retried before
+     * anything queued after it. A key with more than a scan of events queued back to back holds back the keys
+     * queued after them until it drains below it.
+     */
+    @Override
+    public Flux<OutboxEvent> claim(String owner, int batchSize, Duration lease) {
+        Instant now = Instant.now();
+        Instant claimedUntil = now.plus(lease);
+        return mongoTemplate.findDistinct(new Query(Criteria.where(CLAIMED_UNTIL).gte(now)), KEY,
+                        OutboxEvent.class, String.class)
+                .collectList()
+                .flatMapMany(leasedKeys -> mongoTemplate.aggregate(heads(now, leasedKeys, batchSize), Document.class))
+                .map(head -> head.get(HEAD_ID).toString())
+                .collectList()
+                .filter(ids -> !ids.isEmpty())
+                .flatMapMany(ids -> mongoTemplate.updateMulti(
+                                new Query(Criteria.where(ID).in(ids).and(CLAIMED_UNTIL).lt(now)),
+                                new Update().set("owner", owner).set(CLAIMED_UNTIL, claimedUntil),
+                                OutboxEvent.class)
+                        .thenMany(mongoTemplate.find(
+                                new Query(Criteria.where(ID).in(ids)
+                                        .and("owner").is(owner)
+                                        .and(CLAIMED_UNTIL).is(claimedUntil))
+                                        .with(Sort.by(Sort.Direction.ASC, CREATED_AT)),
+                                OutboxEvent.class)));
+    }
+
+    private TypedAggregation<OutboxEvent> heads(Instant now, List<String> leasedKeys, int batchSize) {
+        return Aggregation.newAggregation(OutboxEvent.class,
+                        Aggregation.match(Criteria.where(CLAIMED_UNTIL).lt(now).and(KEY).nin(leasedKeys)),
+                        Aggregation.sort(Sort.by(Sort.Direction.ASC, CREATED_AT, ID)),
+                        Aggregation.limit(claimScan),
+                        Aggregation.group(KEY)
+                                .first(ID).as(HEAD_ID)
+                                .first(CREATED_AT).as(CREATED_AT),
+                        Aggregation.sort(Sort.by(Sort.Direction.ASC, CREATED_AT)),
+                        Aggregation.limit(batchSize))
+                .withOptions(AggregationOptions.builder().hint(OutboxEvent.CREATED_INDEX).build());
+    }
+
+    @Override
+    public Mono<Void> remove(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        return mongoTemplate.remove(new Query(Criteria.where(ID).in(ids)), OutboxEvent.class)
+                .then();
+    }
+}
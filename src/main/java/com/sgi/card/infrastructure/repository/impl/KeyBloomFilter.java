@@ -0,0 +1,97 @@
+package com.sgi.card.infrastructure.repository.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free bloom filter of recently seen keys.
+ * Bits are set with CAS on an {@link AtomicLongArray}. Once {@code capacity} keys were added to the current
+ * generation it becomes the previous one and a fresh generation starts, so old keys age out and the false
+ * positive rate stays bounded; a key is reported while it is in either generation.
+ */
+class KeyBloomFilter {
+
+    private static final int HASHES = 4;
+
+    private final int bits;
+    private final long capacity;
+    private final AtomicReference<Generations> generations;
+
+    KeyBloomFilter(int bits, long capacity) {
+        this.bits = Integer.highestOneBit(Math.max(bits, Long.SIZE));
+        this.capacity = capacity;
+        this.generations = new AtomicReference<>(new Generations(newBits(), newBits()));
+    }
+
+    boolean mightContain(String key) {
+        long hash = hash(key);
+        Generations current = generations.get();
+        return contains(current.current, hash) || contains(current.previous, hash);
+    }
+
+    void put(String key) {
+        long hash = hash(key);
+        Generations current = generations.get();
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & (bits - 1);
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+            long value;
+            do {
+                value = current.current.get(word);
+            } while ((value & mask) == 0 && !current.current.compareAndSet(word, value, value | mask));
+        }
+        if (current.added.incrementAndGet() == capacity) {
+            generations.compareAndSet(current, new Generations(newBits(), current.current));
+        }
+    }
+
+    private boolean contains(AtomicLongArray array, long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & (bits - 1);
+            if ((array.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private AtomicLongArray newBits() {
+        return new AtomicLongArray(bits / Long.SIZE);
+    }
+
+    /**
+     * 64-bit FNV-1a followed by a murmur finalizer; the two halves feed the double hashing above.
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static final class Generations {
+
+        private final AtomicLongArray current;
+        private final AtomicLongArray previous;
+        private final AtomicLong added = new AtomicLong();
+
+        Generations(AtomicLongArray current, AtomicLongArray previous) {
+            this.current = current;
+            this.previous = previous;
+        }
+    }
+}
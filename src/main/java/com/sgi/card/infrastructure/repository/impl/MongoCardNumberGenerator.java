@@ -0,0 +1,148 @@
+package com.sgi.card.infrastructure.repository.impl;
+
+import com.sgi.card.domain.ports.out.CardNumberGenerator;
+import com.sgi.card.domain.shared.CardNumberFormatter;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link CardNumberGenerator} that leases ranges of the card-number sequence from Mongo.
+ * Each instance reserves {@code card.number.block-size} values at a time with an atomic {@code $inc} on the
+ * {@code sequences} collection and then hands them out locally, so instances never share a value and most cards
+ * are numbered without a database round trip. Only one lease is in flight per instance; callers that find the
+ * current block exhausted wait for it. Values left in a block when the instance stops are simply skipped.
+ * Cards numbered before the sequence were drawn at random under BIN 400000, so the sequence defaults to its own
+ * BIN and can never hand out one of their numbers.
+ */
+@Slf4j
+@Repository
+public class MongoCardNumberGenerator implements CardNumberGenerator {
+
+    private static final String COLLECTION = "sequences";
+    private static final String VALUE = "value";
+    private static final int UPSERT_RETRIES = 3;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final String bin;
+    private final int blockSize;
+    private final String sequenceName;
+    private final AtomicReference<SequenceBlock> block = new AtomicReference<>(SequenceBlock.EXHAUSTED);
+    private final AtomicReference<CompletableFuture<Void>> leasing = new AtomicReference<>();
+
+    public MongoCardNumberGenerator(ReactiveMongoTemplate mongoTemplate,
+                                    @Value("${card.number.bin:400001}") String bin,
+                                    @Value("${card.number.block-size:1000}") int blockSize) {
+        if (bin.length() != CardNumberFormatter.BIN_LENGTH) {
+            throw new IllegalArgumentException("card.number.bin must have "
+                    + CardNumberFormatter.BIN_LENGTH + " digits");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.bin = bin;
+        this.blockSize = blockSize;
+        this.sequenceName = "card_number:" + bin;
+    }
+
+    @Override
+    public Mono<String> next() {
+        return next(1).single();
+    }
+
+    /**
+     * Takes {@code count} values at once from the current block, leasing further blocks when it runs out.
+     */
+    @Override
+    public Flux<String> next(int count) {
+        return Flux.defer(() -> {
+            SequenceBlock current = block.get();
+            long start = current.take(count);
+            if (start < 0) {
+                return renew(current).thenMany(next(count));
+            }
+            int taken = (int) Math.min(count, current.end - start);
+            Flux<String> numbers = Flux.range(0, taken)
+                    .map(offset -> CardNumberFormatter.format(bin, start + offset));
+            return taken == count ? numbers : numbers.concatWith(next(count - taken));
+        });
+    }
+
+    private Mono<Void> renew(SequenceBlock exhausted) {
+        if (block.get() != exhausted) {
+            return Mono.empty();
+        }
+        CompletableFuture<Void> pending = leasing.get();
+        if (pending != null) {
+            return Mono.fromFuture(pending, true);
+        }
+        CompletableFuture<Void> lease = new CompletableFuture<>();
+        if (!leasing.compareAndSet(null, lease)) {
+            return renew(exhausted);
+        }
+        leaseBlock().subscribe(
+                leased -> {
+                    block.set(leased);
+                    leasing.set(null);
+                    lease.complete(null);
+                },
+                error -> {
+                    log.error("Could not lease card number block {}", sequenceName, error);
+                    leasing.set(null);
+                    lease.completeExceptionally(error);
+                });
+        return Mono.fromFuture(lease, true);
+    }
+
+    /**
+     * Instances leasing the very first block race to upsert the sequence; the losers hit the unique {@code _id}
+     * and simply retry, which then increments the document the winner created.
+     */
+    private Mono<SequenceBlock> leaseBlock() {
+        return mongoTemplate.findAndModify(
+                        Query.query(Criteria.where("_id").is(sequenceName)),
+                        new Update().inc(VALUE, blockSize),
+                        FindAndModifyOptions.options().upsert(true).returnNew(true),
+                        Document.class,
+                        COLLECTION)
+                .retryWhen(Retry.max(UPSERT_RETRIES).filter(DuplicateKeyException.class::isInstance))
+                .map(sequence -> {
+                    long end = sequence.get(VALUE, Number.class).longValue();
+                    log.debug("Leased card number block [{}, {}) of {}", end - blockSize, end, sequenceName);
+                    return new SequenceBlock(end - blockSize, end);
+                });
+    }
+
+    private static final class SequenceBlock {
+
+        static final SequenceBlock EXHAUSTED = new SequenceBlock(0, 0);
+
+        private final AtomicLong next;
+        private final long end;
+
+        SequenceBlock(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+
+        /**
+         * Reserves up to {@code count} values and returns the first one, or -1 when the block is exhausted.
+         */
+        long take(int count) {
+            long value = next.getAndAdd(count);
+            return value < end ? value : -1;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.sgi.card.infrastructure.repository.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sgi.card.domain.model.IdempotencyRecord;
+import com.sgi.card.domain.ports.out.IdempotencyStore;
+import com.sgi.card.domain.shared.CustomError;
+import com.sgi.card.infrastructure.dto.PaymentResponse;
+import com.sgi.card.infrastructure.exception.CustomException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * {@link IdempotencyStore} backed by the TTL-indexed {@code idempotency_keys} collection, which makes claims
+ * safe across instances through its unique {@code _id}.
+ * Two local layers sit in front of it: an LRU of recently completed keys answers retries without reaching Mongo,
+ * and a bloom filter of keys seen by this instance picks the cheaper first round trip. Keys it has never seen
+ * are most likely new, so they are inserted straight away; keys it may have seen are most likely retries, so
+ * their record is read first. Only completed records are kept locally, since in-progress ones change elsewhere.
+ * An in-progress claim older than {@code card.idempotency.lease} belongs to a request that crashed or was lost;
+ * the next request takes it over with a compare-and-set on {@code claimedAt}.
+ */
+@Slf4j
+@Repository
+public class MongoIdempotencyStore implements IdempotencyStore {
+
+    private static final String ID = "_id";
+    private static final String RESPONSE = "response";
+    private static final String REQUEST_HASH = "requestHash";
+    private static final String CLAIMED_AT = "claimedAt";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final KeyBloomFilter seenKeys;
+    private final Cache<String, IdempotencyRecord> completed;
+    private final Duration lease;
+
+    public MongoIdempotencyStore(ReactiveMongoTemplate mongoTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${card.idempotency.bloom.bits:8388608}") int bloomBits,
+                                 @Value("${card.idempotency.bloom.capacity:500000}") long bloomCapacity,
+                                 @Value("${card.idempotency.local.max-size:100000}") long maxSize,
+                                 @Value("${card.idempotency.local.ttl:10m}") Duration ttl,
+                                 @Value("${card.idempotency.lease:30s}") Duration lease) {
+        this.mongoTemplate = mongoTemplate;
+        this.lease = lease;
+        this.seenKeys = new KeyBloomFilter(bloomBits, bloomCapacity);
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "idempotency");
+    }
+
+    @Override
+    public Mono<IdempotencyRecord> claim(String key, String requestHash) {
+        return Mono.defer(() -> {
+            IdempotencyRecord local = completed.getIfPresent(key);
+            if (local != null) {
+                return Mono.just(local);
+            }
+            if (!seenKeys.mightContain(key)) {
+                seenKeys.put(key);
+                return insert(key, requestHash);
+            }
+            return find(key)
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(existing -> existing.isPresent()
+                            ? takeOverIfExpired(existing.get(), requestHash)
+                            : insert(key, requestHash));
+        });
+    }
+
+    @Override
+    public Mono<Void> complete(String key, PaymentResponse response) {
+        return mongoTemplate.findAndModify(Query.query(Criteria.where(ID).is(key)),
+                        Update.update(RESPONSE, response),
+                        FindAndModifyOptions.options().returnNew(true),
+                        IdempotencyRecord.class)
+                .doOnNext(record -> completed.put(key, record))
+                .then();
+    }
+
+    @Override
+    public Mono<Void> release(String key) {
+        completed.invalidate(key);
+        return mongoTemplate.remove(Query.query(Criteria.where(ID).is(key).and(RESPONSE).is(null)),
+                        IdempotencyRecord.class)
+                .then();
+    }
+
+    /**
+     * Completes empty when the key was free and is now claimed; otherwise emits the existing record.
+     */
+    private Mono<IdempotencyRecord> insert(String key, String requestHash) {
+        Instant now = Instant.now();
+        return mongoTemplate.insert(IdempotencyRecord.builder()
+                        .id(key)
+                        .requestHash(requestHash)
+                        .claimedAt(now)
+                        .createdAt(now)
+                        .build())
+                .then(Mono.<IdempotencyRecord>empty())
+                .onErrorResume(DuplicateKeyException.class, ex -> find(key)
+                        .switchIfEmpty(Mono.error(new CustomException(CustomError.E_DUPLICATE_REQUEST_IN_PROGRESS)))
+                        .flatMap(existing -> takeOverIfExpired(existing, requestHash)));
+    }
+
+    /**
+     * Claims a key whose owner stopped renewing it, only if no other request took it over or completed it
+     * since {@code existing} was read; completes empty when the claim succeeded.
+     * Completed and live claims are returned as they are.
+     */
+    private Mono<IdempotencyRecord> takeOverIfExpired(IdempotencyRecord existing, String requestHash) {
+        Instant claimedAt = existing.getClaimedAt() != null ? existing.getClaimedAt() : existing.getCreatedAt();
+        if (existing.getResponse() != null
+                || (claimedAt != null && claimedAt.isAfter(Instant.now().minus(lease)))) {
+            return Mono.just(existing);
+        }
+        return mongoTemplate.updateFirst(Query.query(Criteria.where(ID).is(existing.getId())
+                                .and(RESPONSE).is(null)
+                                .and(CLAIMED_AT).is(existing.getClaimedAt())),
+                        Update.update(CLAIMED_AT, Instant.now()).set(REQUEST_HASH, requestHash),
+                        IdempotencyRecord.class)
+                .flatMap(result -> result.getModifiedCount() == 1
+                        ? Mono.<IdempotencyRecord>empty()
+                        : find(existing.getId())
+                        .switchIfEmpty(Mono.error(new CustomException(CustomError.E_DUPLICATE_REQUEST_IN_PROGRESS))));
+    }
+
+    private Mono<IdempotencyRecord> find(String key) {
+        return mongoTemplate.findById(key, IdempotencyRecord.class)
+                .doOnNext(record -> {
+                    if (record.getResponse() != null) {
+                        completed.put(key, record);
+                    }
+                });
+    }
+}
@@ -0,0 +1,56 @@
+package com.sgi.card.infrastructure.repository.impl;
+
+import com.sgi.card.domain.model.PaymentStatusRecord;
+import com.sgi.card.domain.ports.out.PaymentStatusStore;
+import com.sgi.card.infrastructure.dto.PaymentResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * {@link PaymentStatusStore} backed by the TTL-indexed {@code payment_status} collection.
+ * Pending statuses are inserted and outcomes upserted, so an outcome that lands first is never replaced by the
+ * pending status written after it.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MongoPaymentStatusStore implements PaymentStatusStore {
+
+    private static final String ID = "_id";
+    private static final String RESPONSE = "response";
+    private static final String CREATED_AT = "createdAt";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<Void> pending(PaymentResponse response) {
+        return mongoTemplate.insert(PaymentStatusRecord.builder()
+                        .id(response.getCorrelationId())
+                        .response(response)
+                        .createdAt(Instant.now())
+                        .build())
+                .onErrorResume(DuplicateKeyException.class, ex -> Mono.empty())
+                .then();
+    }
+
+    @Override
+    public Mono<Void> complete(PaymentResponse response) {
+        return mongoTemplate.upsert(Query.query(Criteria.where(ID).is(response.getCorrelationId())),
+                        Update.update(RESPONSE, response).setOnInsert(CREATED_AT, Instant.now()),
+                        PaymentStatusRecord.class)
+                .then();
+    }
+
+    @Override
+    public Mono<PaymentResponse> find(String correlationId) {
+        return mongoTemplate.findById(correlationId, PaymentStatusRecord.class)
+                .mapNotNull(PaymentStatusRecord::getResponse);
+    }
+}
@@ -0,0 +1,11 @@
+package com.sgi.card.infrastructure.subscriber.events;
+
+import java.util.Map;
+
+/**
+ * Lists the cards changed by {@code origin}, each with the version it reached, or null when the version is
+ * unknown (a failed or cancelled write, or a delete).
+ */
+public record CardChangedEvent(String origin, Map<String, Long> versions) {
+    public static final String TOPIC = "CardChangedEvent";
+}
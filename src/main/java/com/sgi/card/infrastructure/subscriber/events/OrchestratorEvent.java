@@ -12,6 +12,7 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 @NoArgsConstructor
 public class OrchestratorEvent {
+    private String correlationId;
     private String cardId;
     private String accountId;
     private String clientId;
@@ -13,6 +13,7 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 public class OrchestratorEventResponse {
 
+    private String correlationId;
     private String cardId;
     private String accountId;
     private String clientId;
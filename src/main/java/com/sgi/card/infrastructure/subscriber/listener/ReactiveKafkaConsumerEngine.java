@@ -0,0 +1,144 @@
+package com.sgi.card.infrastructure.subscriber.listener;
+
+import com.sgi.card.application.service.CardEventService;
+import com.sgi.card.infrastructure.config.InstanceIdentity;
+import com.sgi.card.infrastructure.metrics.StageTimer;
+import com.sgi.card.infrastructure.subscriber.events.BalanceEvent;
+import com.sgi.card.infrastructure.subscriber.events.OrchestratorEventResponse;
+import com.sgi.card.infrastructure.subscriber.message.EventCodec;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.sgi.card.infrastructure.metrics.StageTimer.KAFKA_CONSUME;
+
+/**
+ * Reactive alternative to the {@code @KafkaListener} consumers of the orchestrator and balance topics,
+ * enabled with {@code card.kafka.engine=reactive}.
+ * Records of a partition are processed one after another, while up to {@code card.kafka.reactive.concurrency}
+ * partitions progress in parallel. A record's offset is acknowledged when its handler Mono completes and
+ * acknowledged offsets are committed periodically, so the pipeline has end-to-end backpressure and never
+ * commits unprocessed records.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "card.kafka.engine", havingValue = "reactive")
+public class ReactiveKafkaConsumerEngine {
+
+    private static final String HANDLER_ERROR = "Error processing record from topic {} at offset {}";
+
+    private final KafkaProperties kafkaProperties;
+    private final SslBundles sslBundles;
+    private final CardEventService cardEventService;
+    private final InstanceIdentity instanceIdentity;
+    private final String groupId;
+    private final int concurrency;
+    private final Duration commitInterval;
+    private final int commitBatchSize;
+    private final StageTimer stageTimer;
+    private final ObservationRegistry observationRegistry;
+    private final Disposable.Composite subscriptions = Disposables.composite();
+
+    public ReactiveKafkaConsumerEngine(KafkaProperties kafkaProperties,
+                                       ObjectProvider<SslBundles> sslBundles,
+                                       CardEventService cardEventService,
+                                       InstanceIdentity instanceIdentity,
+                                       StageTimer stageTimer,
+                                       ObjectProvider<ObservationRegistry> observationRegistry,
+                                       @Value("${app.name}") String groupId,
+                                       @Value("${card.kafka.reactive.concurrency:8}") int concurrency,
+                                       @Value("${card.kafka.reactive.commit-interval:1s}") Duration commitInterval,
+                                       @Value("${card.kafka.reactive.commit-batch-size:500}") int commitBatchSize) {
+        this.kafkaProperties = kafkaProperties;
+        this.sslBundles = sslBundles.getIfAvailable();
+        this.cardEventService = cardEventService;
+        this.instanceIdentity = instanceIdentity;
+        this.stageTimer = stageTimer;
+        this.observationRegistry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+        this.groupId = groupId;
+        this.concurrency = Math.max(1, concurrency);
+        this.commitInterval = commitInterval;
+        this.commitBatchSize = commitBatchSize;
+    }
+
+    @PostConstruct
+    void start() {
+        subscriptions.add(consume(receiverOptions(BalanceEvent.TOPIC, groupId, null), BalanceEvent.class,
+                balanceEvent -> cardEventService.publishBalanceEvents(List.of(balanceEvent.cardId()))));
+        subscriptions.add(consume(receiverOptions(OrchestratorEventResponse.TOPIC,
+                        groupId + "-" + instanceIdentity.getId(), "latest"),
+                OrchestratorEventResponse.class,
+                response -> Mono.fromRunnable(() -> cardEventService.orchestratorResult(response))));
+    }
+
+    @PreDestroy
+    void stop() {
+        subscriptions.dispose();
+    }
+
+    private <T> Disposable consume(ReceiverOptions<String, byte[]> options,
+                                   Class<T> type,
+                                   Function<T, Mono<Void>> handler) {
+        return KafkaReceiver.create(options)
+                .receive()
+                .groupBy(record -> Math.floorMod(record.receiverOffset().topicPartition().hashCode(), concurrency))
+                .flatMap(lane -> lane.concatMap(record -> handle(record, type, handler)
+                        .transform(stageTimer.mono(KAFKA_CONSUME, "topic", record.topic()))
+                        .then(Mono.fromRunnable(record.receiverOffset()::acknowledge))), concurrency)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe();
+    }
+
+    /**
+     * A record whose handler keeps failing is logged and skipped so it cannot block its partition.
+     */
+    private <T> Mono<Void> handle(ReceiverRecord<String, byte[]> record,
+                                  Class<T> type,
+                                  Function<T, Mono<Void>> handler) {
+        return Mono.fromCallable(() -> EventCodec.decode(record.value(), record.headers(), type))
+                .flatMap(handler)
+                .retryWhen(Retry.backoff(3, Duration.ofMillis(200)))
+                .onErrorResume(error -> {
+                    log.error(HANDLER_ERROR, record.topic(), record.offset(), error);
+                    return Mono.empty();
+                });
+    }
+
+    private ReceiverOptions<String, byte[]> receiverOptions(String topic, String consumerGroup, String offsetReset) {
+        Map<String, Object> properties = new HashMap<>(kafkaProperties.buildConsumerProperties(sslBundles));
+        properties.put(ConsumerConfig.GROUP_ID_CONFIG, consumerGroup);
+        properties.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        properties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        if (offsetReset != null) {
+            properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, offsetReset);
+        }
+        return ReceiverOptions.<String, byte[]>create(properties)
+                .withObservation(observationRegistry)
+                .commitInterval(commitInterval)
+                .commitBatchSize(commitBatchSize)
+                .subscription(List.of(topic));
+    }
+}
@@ -5,17 +5,25 @@ import com.sgi.card.domain.ports.in.CardService;
 import com.sgi.card.infrastructure.annotations.KafkaController;
 import com.sgi.card.infrastructure.dto.BalanceResponse;
 import com.sgi.card.infrastructure.subscriber.events.BalanceEvent;
+import com.sgi.card.infrastructure.subscriber.events.CardChangedEvent;
 import com.sgi.card.infrastructure.subscriber.events.OrchestratorEventResponse;
 import com.sgi.card.infrastructure.subscriber.message.EventSender;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import reactor.core.publisher.Mono;
 
-import static com.sgi.card.domain.shared.Constants.TOPIC_ORCHESTRATOR;
+import java.time.Duration;
+import java.util.List;
 
+/**
+ * Kafka listeners of the service.
+ * With {@code card.kafka.engine=reactive} the orchestrator and balance topics are consumed by
+ * {@link ReactiveKafkaConsumerEngine} instead and the corresponding listeners here are not started.
+ */
 @Slf4j
-@AllArgsConstructor
+@RequiredArgsConstructor
 @KafkaController
 public class TopicListenerCard {
 
@@ -23,21 +31,50 @@ public class TopicListenerCard {
 
     private final EventSender kafkaTemplate;
 
+    @Value("${card.kafka.balance.batch.timeout:30s}")
+    private Duration batchTimeout;
+
     @KafkaListener(
-            groupId = "${app.name}",
-            topics = OrchestratorEventResponse.TOPIC
+            groupId = "${app.name}-#{@instanceIdentity.id}",
+            topics = OrchestratorEventResponse.TOPIC,
+            autoStartup = "#{'${card.kafka.engine:listener}' == 'listener'}",
+            properties = "auto.offset.reset=latest"
     )
     private void orchestratorResult(OrchestratorEventResponse orchestratorEventResponse) {
-        log.info(TOPIC_ORCHESTRATOR, OrchestratorEventResponse.TOPIC,
-                orchestratorEventResponse,
-                orchestratorEventResponse.getStatus());
+        cardEventService.orchestratorResult(orchestratorEventResponse);
     }
 
     @KafkaListener(
             groupId = "${app.name}",
-            topics = BalanceEvent.TOPIC
+            topics = BalanceEvent.TOPIC,
+            autoStartup = "#{'${card.kafka.engine:listener}' == 'listener' && !${card.kafka.balance.batch.enabled:true}}"
     )
     private void balanceHandle(BalanceEvent balanceEvent) {
         cardEventService.getBalanceEvent(balanceEvent.cardId());
     }
+
+    /**
+     * Handles a whole poll of balance requests. The listener waits for the batch to be published, so the
+     * container commits its offsets only once every response has been acknowledged.
+     */
+    @KafkaListener(
+            groupId = "${app.name}",
+            topics = BalanceEvent.TOPIC,
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "#{'${card.kafka.engine:listener}' == 'listener' && ${card.kafka.balance.batch.enabled:true}}",
+            properties = "max.poll.records=${card.kafka.balance.batch.max-poll-records:500}"
+    )
+    private void balanceBatchHandle(List<BalanceEvent> balanceEvents) {
+        cardEventService.publishBalanceEvents(balanceEvents.stream().map(BalanceEvent::cardId).toList())
+                .block(batchTimeout);
+    }
+
+    @KafkaListener(
+            groupId = "${app.name}-#{@instanceIdentity.id}",
+            topics = CardChangedEvent.TOPIC,
+            properties = "auto.offset.reset=latest"
+    )
+    private void cardChanged(CardChangedEvent cardChangedEvent) {
+        cardEventService.cardChanged(cardChangedEvent);
+    }
 }
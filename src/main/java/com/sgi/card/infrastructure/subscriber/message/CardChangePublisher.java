@@ -0,0 +1,80 @@
+package com.sgi.card.infrastructure.subscriber.message;
+
+import com.sgi.card.infrastructure.config.InstanceIdentity;
+import com.sgi.card.infrastructure.subscriber.events.CardChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.sgi.card.domain.shared.Constants.ERROR_KAFKA_MESSAGE;
+
+/**
+ * Publishes {@link CardChangedEvent}s so other instances drop their cached copy of a mutated card.
+ * Changed ids are gathered within a small size/time window and sent as one compact event, each with the newest
+ * version written in the window; an unknown version wins, so receivers always evict that card.
+ */
+@Slf4j
+@Component
+public class CardChangePublisher {
+
+    private static final Duration EMIT_RETRY = Duration.ofMillis(100);
+
+    private final Sinks.Many<Change> changes = Sinks.many().unicast().onBackpressureBuffer();
+    private final Disposable subscription;
+
+    public CardChangePublisher(EventSender kafkaTemplate,
+                               InstanceIdentity instanceIdentity,
+                               @Value("${card.cache.invalidation.max-batch:500}") int maxBatch,
+                               @Value("${card.cache.invalidation.window:20ms}") Duration window) {
+        this.subscription = changes.asFlux()
+                .bufferTimeout(maxBatch, window)
+                .onBackpressureBuffer()
+                .concatMap(batch -> Mono.fromFuture(() -> kafkaTemplate.sendEvent(new CardChangedEvent(
+                                instanceIdentity.getId(),
+                                versions(batch))))
+                        .doOnError(error -> log.error(ERROR_KAFKA_MESSAGE, error))
+                        .onErrorResume(error -> Mono.empty()))
+                .subscribe();
+    }
+
+    /**
+     * @param version the version the card reached, or null when it is unknown.
+     */
+    public void publish(String cardId, Long version) {
+        if (cardId != null) {
+            changes.emitNext(new Change(cardId, version), Sinks.EmitFailureHandler.busyLooping(EMIT_RETRY));
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        changes.tryEmitComplete();
+        subscription.dispose();
+    }
+
+    private static Map<String, Long> versions(List<Change> batch) {
+        Map<String, Long> versions = new LinkedHashMap<>();
+        batch.forEach(change -> {
+            if (!versions.containsKey(change.cardId())) {
+                versions.put(change.cardId(), change.version());
+            } else {
+                Long known = versions.get(change.cardId());
+                versions.put(change.cardId(), known == null || change.version() == null
+                        ? null
+                        : Math.max(known, change.version()));
+            }
+        });
+        return versions;
+    }
+
+    private record Change(String cardId, Long version) {}
+}
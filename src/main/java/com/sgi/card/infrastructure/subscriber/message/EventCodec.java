@@ -0,0 +1,63 @@
+package com.sgi.card.infrastructure.subscriber.message;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sgi.card.infrastructure.mapper.ObjectMappers;
+import lombok.SneakyThrows;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes Kafka event values straight to bytes in the configured format and tags each record with a
+ * {@code content-type} header, so consumers can pick the matching decoder.
+ * JSON is the default; Smile, Jackson's binary JSON, is a more compact option that requires consumers
+ * reading the value as bytes.
+ */
+@Component
+public class EventCodec {
+
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+    public static final String JSON = "application/json";
+    public static final String SMILE = "application/x-jackson-smile";
+
+    private final String contentType;
+    private final byte[] contentTypeHeader;
+    private final ObjectMapper objectMapper;
+
+    public EventCodec(@Value("${card.kafka.encoding:json}") String encoding) {
+        boolean smile = "smile".equalsIgnoreCase(encoding);
+        this.contentType = smile ? SMILE : JSON;
+        this.contentTypeHeader = contentType.getBytes(StandardCharsets.UTF_8);
+        this.objectMapper = smile ? ObjectMappers.SMILE_MAPPER : ObjectMappers.OBJECT_MAPPER;
+    }
+
+    @SneakyThrows
+    public byte[] encode(Object event) {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public void addContentType(Headers headers, String contentType) {
+        headers.add(CONTENT_TYPE_HEADER, contentType == null || this.contentType.equals(contentType)
+                ? contentTypeHeader
+                : contentType.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a value produced by {@link #encode(Object)} using the format announced in its headers.
+     */
+    @SneakyThrows
+    public static <T> T decode(byte[] value, Headers headers, Class<T> type) {
+        return (isSmile(headers) ? ObjectMappers.SMILE_MAPPER : ObjectMappers.OBJECT_MAPPER).readValue(value, type);
+    }
+
+    public static boolean isSmile(Headers headers) {
+        var header = headers.lastHeader(CONTENT_TYPE_HEADER);
+        return header != null && SMILE.equals(new String(header.value(), StandardCharsets.UTF_8));
+    }
+}
@@ -1,7 +1,7 @@
 package com.sgi.card.infrastructure.subscriber.message;
 
-import com.sgi.card.infrastructure.mapper.ObjectMappers;
-import lombok.SneakyThrows;
+import com.sgi.card.infrastructure.logging.LogSampler;
+import com.sgi.card.infrastructure.logging.LogSamplers;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -10,22 +10,45 @@ import org.springframework.stereotype.Component;
 
 import java.util.concurrent.CompletableFuture;
 
+import static com.sgi.card.domain.shared.Constants.KAFKA_PUBLISH_MESSAGE;
+import static com.sgi.card.domain.shared.Constants.KAFKA_PUBLISH_SAMPLED;
+import static net.logstash.logback.argument.StructuredArguments.kv;
 
+/**
+ * Publishes events to the topic named after their class. Sends are timed by the observed
+ * {@link KafkaTemplate} ({@code spring.kafka.template}, tagged by topic and error).
+ */
 @Component
 @Slf4j
 public class EventSender {
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
 
-    public EventSender(KafkaTemplate<String, Object> kafkaTemplate) {
+    private final EventCodec eventCodec;
+
+    private final LogSampler logSampler;
+
+    public EventSender(KafkaTemplate<String, byte[]> kafkaTemplate,
+                       EventCodec eventCodec,
+                       LogSamplers logSamplers) {
         this.kafkaTemplate = kafkaTemplate;
+        this.eventCodec = eventCodec;
+        this.logSampler = logSamplers.forCategory(LogSamplers.KAFKA);
+    }
+
+    public CompletableFuture<SendResult<String, byte[]>> sendEvent(Object event) {
+        return sendEvent(null, event);
     }
 
-    @SneakyThrows
-    public CompletableFuture<SendResult<String, Object>> sendEvent(Object event) {
-            String topic = event.getClass().getSimpleName();
-            String value = ObjectMappers.OBJECT_MAPPER.writeValueAsString(event);
-            log.info("Publishing to Kafka topic {}: {}", topic, event);
-            return kafkaTemplate.send(new ProducerRecord<>(topic, value));
+    public CompletableFuture<SendResult<String, byte[]>> sendEvent(String key, Object event) {
+        String topic = event.getClass().getSimpleName();
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, key, eventCodec.encode(event));
+        eventCodec.addContentType(record.headers(), null);
+        if (log.isDebugEnabled()) {
+            log.debug(KAFKA_PUBLISH_MESSAGE, topic, event);
+        } else if (logSampler.sample()) {
+            log.info(KAFKA_PUBLISH_SAMPLED, kv("topic", topic));
+        }
+        return kafkaTemplate.send(record);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+package com.sgi.card.infrastructure.subscriber.message;
+
+import com.sgi.card.domain.model.OutboxEvent;
+import com.sgi.card.domain.ports.out.EventOutbox;
+import com.sgi.card.infrastructure.config.InstanceIdentity;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static com.sgi.card.domain.shared.Constants.ERROR_KAFKA_MESSAGE;
+
+/**
+ * Drains the Mongo outbox into Kafka.
+ * Claims events in large batches, hands the whole batch to the throughput-tuned producer at once so it can be
+ * compressed and sent in few requests, and removes the events the broker acknowledged. A batch holds at most one
+ * event per card, so an event whose send failed stays in the outbox, blocks the later events of its card and is
+ * retried once its claim lease expires.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "card.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final EventOutbox eventOutbox;
+    private final KafkaTemplate<String, byte[]> outboxKafkaTemplate;
+    private final EventCodec eventCodec;
+    private final String owner;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration lease;
+    private Disposable subscription;
+
+    public OutboxRelay(EventOutbox eventOutbox,
+                       @Qualifier("outboxKafkaTemplate") KafkaTemplate<String, byte[]> outboxKafkaTemplate,
+                       EventCodec eventCodec,
+                       InstanceIdentity instanceIdentity,
+                       @Value("${card.outbox.batch-size:500}") int batchSize,
+                       @Value("${card.outbox.poll-interval:50ms}") Duration pollInterval,
+                       @Value("${card.outbox.lease:30s}") Duration lease) {
+        this.eventOutbox = eventOutbox;
+        this.outboxKafkaTemplate = outboxKafkaTemplate;
+        this.eventCodec = eventCodec;
+        this.owner = instanceIdentity.getId();
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.lease = lease;
+    }
+
+    @PostConstruct
+    void start() {
+        subscription = Flux.interval(pollInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> drain()
+                        .doOnError(error -> log.error(ERROR_KAFKA_MESSAGE, error))
+                        .onErrorResume(error -> Mono.empty()), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Relays batches back to back while they relay anything, so a backlog, including a run of events of one card,
+     * is drained without waiting for the next poll.
+     */
+    private Mono<Integer> drain() {
+        return relayBatch()
+                .expand(relayed -> relayed > 0 ? relayBatch() : Mono.empty())
+                .reduce(0, Integer::sum);
+    }
+
+    private Mono<Integer> relayBatch() {
+        return eventOutbox.claim(owner, batchSize, lease)
+                .collectList()
+                .flatMap(events -> Flux.fromIterable(events)
+                        .flatMapSequential(this::send, Math.max(1, events.size()))
+                        .collectList()
+                        .flatMap(eventOutbox::remove)
+                        .thenReturn(events.size()));
+    }
+
+    private Mono<String> send(OutboxEvent event) {
+        return Mono.fromFuture(() -> {
+                    ProducerRecord<String, byte[]> record =
+                            new ProducerRecord<>(event.getTopic(), event.getKey(), event.getPayload());
+                    eventCodec.addContentType(record.headers(), event.getContentType());
+                    return outboxKafkaTemplate.send(record);
+                })
+                .thenReturn(event.getId())
+                .onErrorResume(error -> {
+                    log.error(ERROR_KAFKA_MESSAGE, error);
+                    return Mono.empty();
+                });
+    }
+}
@@ -1,13 +1,30 @@
 package com.sgi.card;
 
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+		"feign.client.config.account-service.url=http://localhost:0",
+		"feign.client.config.transaction-service.url=http://localhost:0",
+		"eureka.client.enabled=false"
+})
 class CardApplicationTests {
 
+	@Autowired
+	private BulkheadRegistry bulkheadRegistry;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void bulkheadsDefaultToFiftyConcurrentCalls() {
+		assertEquals(50, bulkheadRegistry.bulkhead("account-service.balance").getBulkheadConfig()
+				.getMaxConcurrentCalls());
+	}
+
 }
@@ -0,0 +1,52 @@
+package com.sgi.card.application.service.impl;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PaymentSequencerTest {
+
+    private static final int PAYMENTS = 100_000;
+
+    @Test
+    void drainsSynchronousActionsOnOneKeyWithoutRecursing() {
+        PaymentSequencer sequencer = new PaymentSequencer(1);
+        Sinks.One<Integer> gate = Sinks.one();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+
+        sequencer.serialize("card", gate::asMono).subscribe(value -> completed.incrementAndGet());
+        for (int i = 0; i < PAYMENTS; i++) {
+            int payment = i;
+            sequencer.serialize("card", () -> {
+                assertEquals(1, inFlight.incrementAndGet(), "actions on one key must not overlap");
+                inFlight.decrementAndGet();
+                return Mono.just(payment);
+            }).subscribe(value -> completed.incrementAndGet());
+        }
+        gate.tryEmitValue(-1);
+
+        assertEquals(PAYMENTS + 1, completed.get());
+    }
+
+    @Test
+    void skipsActionsCancelledWhileQueued() {
+        PaymentSequencer sequencer = new PaymentSequencer(1);
+        Sinks.One<String> gate = Sinks.one();
+        AtomicInteger started = new AtomicInteger();
+
+        sequencer.serialize("card", gate::asMono).subscribe();
+        sequencer.serialize("card", () -> Mono.fromRunnable(started::incrementAndGet)).subscribe().dispose();
+        gate.tryEmitValue("first");
+
+        StepVerifier.create(sequencer.serialize("card", () -> Mono.just("next")))
+                .expectNext("next")
+                .verifyComplete();
+        assertEquals(0, started.get());
+    }
+}
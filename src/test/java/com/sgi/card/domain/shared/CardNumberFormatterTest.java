@@ -0,0 +1,46 @@
+package com.sgi.card.domain.shared;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CardNumberFormatterTest {
+
+    @Test
+    void producesValidLuhnNumbersWithTheConfiguredBin() {
+        for (long sequence = 0; sequence < 10_000; sequence++) {
+            String cardNumber = CardNumberFormatter.format("400000", sequence);
+            assertEquals(CardNumberFormatter.LENGTH, cardNumber.length());
+            assertTrue(cardNumber.startsWith("400000"));
+            assertTrue(CardNumberFormatter.isValid(cardNumber), cardNumber);
+        }
+    }
+
+    @Test
+    void distinctSequencesNeverCollide() {
+        Set<String> issued = new HashSet<>();
+        for (long sequence = 0; sequence < 200_000; sequence++) {
+            assertTrue(issued.add(CardNumberFormatter.format("400000", sequence)));
+        }
+        assertTrue(issued.add(CardNumberFormatter.format("400000", CardNumberFormatter.MAX_SEQUENCE - 1)));
+    }
+
+    @Test
+    void validatesKnownNumbers() {
+        assertTrue(CardNumberFormatter.isValid("4111111111111111"));
+        assertFalse(CardNumberFormatter.isValid("4111111111111112"));
+        assertFalse(CardNumberFormatter.isValid("411111111111111"));
+    }
+
+    @Test
+    void rejectsExhaustedSequences() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CardNumberFormatter.format("400000", CardNumberFormatter.MAX_SEQUENCE));
+    }
+}
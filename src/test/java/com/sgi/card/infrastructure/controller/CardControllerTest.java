@@ -0,0 +1,81 @@
+package com.sgi.card.infrastructure.controller;
+
+import com.sgi.card.domain.ports.in.CardService;
+import com.sgi.card.domain.shared.CustomError;
+import com.sgi.card.infrastructure.config.JacksonConfiguration;
+import com.sgi.card.infrastructure.dto.CardPatchRequest;
+import com.sgi.card.infrastructure.dto.CardResponse;
+import com.sgi.card.infrastructure.exception.CustomException;
+import org.junit.jupiter.api.Test;
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(CardController.class)
+@AutoConfigureWebTestClient(timeout = "30s")
+@Import(JacksonConfiguration.class)
+class CardControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private CardService cardService;
+
+    @Test
+    void patchTellsAbsentFieldsFromExplicitNulls() {
+        AtomicReference<CardPatchRequest> received = new AtomicReference<>();
+        when(cardService.patchCard(eq("card-1"), any())).thenAnswer(invocation ->
+                invocation.<Mono<CardPatchRequest>>getArgument(1).map(patch -> {
+                    received.set(patch);
+                    return new CardResponse().id("card-1").version(4L);
+                }));
+
+        patch("{\"version\": 3, \"clientId\": \"client-2\", \"mainAccountId\": null}")
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.version").isEqualTo(4);
+
+        CardPatchRequest patch = received.get();
+        assertEquals(3L, patch.getVersion());
+        assertEquals(JsonNullable.of("client-2"), patch.getClientId());
+        assertTrue(patch.getMainAccountId().isPresent());
+        assertNull(patch.getMainAccountId().get());
+        assertFalse(patch.getType().isPresent());
+    }
+
+    @Test
+    void staleVersionIsAConflict() {
+        when(cardService.patchCard(eq("card-1"), any())).thenAnswer(invocation ->
+                invocation.<Mono<CardPatchRequest>>getArgument(1)
+                        .then(Mono.error(new CustomException(CustomError.E_CARD_VERSION_CONFLICT))));
+
+        patch("{\"version\": 1, \"clientId\": \"client-2\", \"mainAccountId\": null}")
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody().jsonPath("$.code").isEqualTo("CARD-009");
+    }
+
+    private WebTestClient.ResponseSpec patch(String body) {
+        return webTestClient.patch()
+                .uri("/v1/cards/{cardId}", "card-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange();
+    }
+}
@@ -0,0 +1,98 @@
+package com.sgi.card.infrastructure.controller;
+
+import com.sgi.card.domain.model.Card;
+import com.sgi.card.infrastructure.repository.LocalMongod;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PUT and PATCH through HTTP, JSON decoding included, against a real Mongo.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "feign.client.config.account-service.url=http://localhost:0",
+        "feign.client.config.transaction-service.url=http://localhost:0",
+        "eureka.client.enabled=false"
+})
+@AutoConfigureWebTestClient(timeout = "30s")
+@EnabledIf("com.sgi.card.infrastructure.repository.LocalMongod#isAvailable")
+class CardUpdateApiTest {
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> LocalMongod.shared().uri("card-api"));
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private String cardId;
+
+    @BeforeEach
+    void createCard() {
+        mongoTemplate.dropCollection(Card.class).block();
+        cardId = mongoTemplate.insert(Card.builder()
+                        .cardNumber("4000001234567899")
+                        .expirationDate(Instant.parse("2030-01-31T00:00:00Z"))
+                        .type("DEBIT")
+                        .mainAccountId("main")
+                        .associatedAccountIds(new ArrayList<>(List.of("main")))
+                        .clientId("client-1")
+                        .version(1L)
+                        .build())
+                .map(Card::getId)
+                .block();
+    }
+
+    @Test
+    void patchChangesOneFieldRemovesAnExplicitNullAndRejectsAStaleVersion() {
+        patch("{\"version\": 1, \"clientId\": \"client-2\", \"type\": null}")
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.clientId").isEqualTo("client-2")
+                .jsonPath("$.type").doesNotExist()
+                .jsonPath("$.mainAccountId").isEqualTo("main")
+                .jsonPath("$.version").isEqualTo(2);
+
+        patch("{\"version\": 1, \"clientId\": \"client-3\"}")
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void putWithAStaleVersionDoesNotOverwriteAPatch() {
+        patch("{\"version\": 1, \"clientId\": \"client-2\"}")
+                .expectStatus().isOk();
+
+        webTestClient.put()
+                .uri("/v1/cards/{cardId}", cardId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"version\": 1, \"cardNumber\": \"4000001234567899\","
+                        + " \"expirationDate\": \"2031-01-31T00:00:00Z\", \"mainAccountId\": \"main\"}")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    private WebTestClient.ResponseSpec patch(String body) {
+        return webTestClient.patch()
+                .uri("/v1/cards/{cardId}", cardId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .exchange();
+    }
+}
@@ -0,0 +1,126 @@
+package com.sgi.card.infrastructure.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.reactive.result.view.ViewResolver;
+import reactor.core.publisher.Flux;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PassThroughResponseWriterTest {
+
+    private static final int BUFFERS = 8;
+    private static final int ROUNDS = 50;
+
+    private static final ServerResponse.Context CONTEXT = new ServerResponse.Context() {
+        @Override
+        public List<HttpMessageWriter<?>> messageWriters() {
+            return HandlerStrategies.withDefaults().messageWriters();
+        }
+
+        @Override
+        public List<ViewResolver> viewResolvers() {
+            return List.of();
+        }
+    };
+
+    private final PassThroughResponseWriter writer = new PassThroughResponseWriter(
+            List.of(HttpHeaders.CONTENT_TYPE), Map.of("X-Pass-Through", "true"));
+
+    @Test
+    void forwardsStatusSelectedHeadersAndBody() {
+        HttpHeaders downstreamHeaders = new HttpHeaders();
+        downstreamHeaders.setContentType(MediaType.APPLICATION_JSON);
+        downstreamHeaders.set("X-Internal", "secret");
+        MockServerWebExchange exchange = exchange();
+        MockServerHttpResponse response = exchange.getResponse();
+
+        write(new ResponseEntity<>(body(2, chunk(16)), downstreamHeaders, HttpStatus.OK), exchange);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("true", response.getHeaders().getFirst("X-Pass-Through"));
+        assertNull(response.getHeaders().getFirst("X-Internal"));
+        assertEquals(32, response.getBodyAsString().block().length());
+    }
+
+    @Test
+    void allocationPerRequestDoesNotGrowWithPageSize() {
+        long small = allocatedPerRequest(1_024);
+        long large = allocatedPerRequest(1_024 * 1_024);
+        assertTrue(large < small + 16 * 1_024,
+                "pass-through allocation should not depend on the body size");
+    }
+
+    private long allocatedPerRequest(int bufferSize) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        byte[] chunk = chunk(bufferSize);
+        AtomicLong written = new AtomicLong();
+        for (int i = 0; i < ROUNDS; i++) {
+            writeDiscarding(body(BUFFERS, chunk), written);
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ROUNDS; i++) {
+            writeDiscarding(body(BUFFERS, chunk), written);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        assertEquals((long) ROUNDS * 2 * BUFFERS * bufferSize, written.get());
+        return allocated / ROUNDS;
+    }
+
+    private void writeDiscarding(Flux<DataBuffer> body, AtomicLong written) {
+        MockServerWebExchange exchange = exchange();
+        exchange.getResponse().setWriteHandler(buffers -> Flux.from(buffers)
+                .doOnNext(buffer -> written.addAndGet(buffer.readableByteCount()))
+                .doOnNext(DataBufferUtils::release)
+                .then());
+        write(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body), exchange);
+    }
+
+    private void write(ResponseEntity<Flux<DataBuffer>> downstream, MockServerWebExchange exchange) {
+        writer.write(downstream)
+                .flatMap(response -> response.writeTo(exchange, CONTEXT))
+                .block();
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/v1/cards/1/transaction"));
+    }
+
+    private static byte[] chunk(int size) {
+        byte[] bytes = new byte[size];
+        Arrays.fill(bytes, (byte) 'x');
+        return bytes;
+    }
+
+    /** Buffers wrap a shared downstream chunk, as the HTTP client hands over the bytes it already received. */
+    private static Flux<DataBuffer> body(int buffers, byte[] chunk) {
+        List<DataBuffer> chunks = new ArrayList<>(buffers);
+        for (int i = 0; i < buffers; i++) {
+            chunks.add(DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+        }
+        return Flux.fromIterable(chunks);
+    }
+}
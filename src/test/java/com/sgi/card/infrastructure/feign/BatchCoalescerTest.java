@@ -0,0 +1,112 @@
+package com.sgi.card.infrastructure.feign;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchCoalescerTest {
+
+    private static final int REQUESTS = 1_000;
+    private static final int ACCOUNTS = 200;
+    private static final int MAX_BATCH_SIZE = 50;
+
+    /** Keys received by the stub batch endpoint, one entry per call. */
+    private final Queue<List<String>> batches = new ConcurrentLinkedQueue<>();
+    private DisposableServer server;
+    private WebClient webClient;
+
+    @BeforeEach
+    void startStubEndpoint() {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/balances", (request, response) -> {
+                    String ids = UriComponentsBuilder.fromUriString(request.uri()).build()
+                            .getQueryParams().getFirst("ids");
+                    List<String> keys = List.of(ids.split(","));
+                    batches.add(keys);
+                    return response.header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN_VALUE)
+                            .sendString(Flux.fromIterable(keys).map(key -> key + "=100.00\n"));
+                }))
+                .bindNow();
+        webClient = WebClient.create("http://localhost:" + server.port());
+    }
+
+    @AfterEach
+    void stopStubEndpoint() {
+        server.disposeNow();
+    }
+
+    @Test
+    void coalescesConcurrentLookupsIntoBatches() {
+        BatchCoalescer<String, String> coalescer = coalescer(Duration.ofMillis(5));
+
+        StepVerifier.create(Flux.range(0, REQUESTS)
+                        .flatMap(i -> coalescer.load("account-" + (i % ACCOUNTS)), REQUESTS)
+                        .count())
+                .expectNext((long) REQUESTS)
+                .verifyComplete();
+        coalescer.dispose();
+
+        assertTrue(batches.size() <= REQUESTS / 10, "expected at least 10 lookups per downstream call");
+        batches.forEach(keys -> {
+            assertTrue(keys.size() <= MAX_BATCH_SIZE, () -> "batch of " + keys.size() + ": " + keys);
+            assertEquals(keys.size(), new HashSet<>(keys).size(), "duplicate keys must be requested once");
+        });
+    }
+
+    @Test
+    void dropsCancelledLookupsBeforeDispatch() {
+        BatchCoalescer<String, String> coalescer = coalescer(Duration.ofMillis(50));
+
+        Disposable cancelled = coalescer.load("account-cancelled").subscribe();
+        cancelled.dispose();
+        StepVerifier.create(coalescer.load("account-live"))
+                .expectNext("account-live=100.00")
+                .verifyComplete();
+        coalescer.dispose();
+
+        assertEquals(List.of(List.of("account-live")), List.copyOf(batches));
+    }
+
+    @Test
+    void completesEmptyForKeysMissingFromTheBatchResponse() {
+        BatchCoalescer<String, String> coalescer = new BatchCoalescer<>(
+                keys -> Flux.empty(), value -> value, 10, Duration.ofMillis(1), 1);
+
+        StepVerifier.create(coalescer.load("unknown"))
+                .verifyComplete();
+        coalescer.dispose();
+    }
+
+    private BatchCoalescer<String, String> coalescer(Duration window) {
+        return new BatchCoalescer<>(this::stubBatchEndpoint,
+                value -> value.substring(0, value.indexOf('=')),
+                MAX_BATCH_SIZE, window, 16);
+    }
+
+    private Flux<String> stubBatchEndpoint(Collection<String> keys) {
+        return webClient.get()
+                .uri(builder -> builder.path("/balances").queryParam("ids", String.join(",", keys)).build())
+                .retrieve()
+                .bodyToFlux(String.class);
+    }
+}
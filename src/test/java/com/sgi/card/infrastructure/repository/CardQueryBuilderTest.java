@@ -0,0 +1,51 @@
+package com.sgi.card.infrastructure.repository;
+
+import com.sgi.card.infrastructure.exception.CustomException;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CardQueryBuilderTest {
+
+    @Test
+    void combinesPresentFiltersWithAnd() {
+        Query query = CardQueryBuilder.cards()
+                .withId(null)
+                .withClientId("client-1")
+                .withType("DEBIT")
+                .build();
+
+        String filter = query.getQueryObject().toJson();
+        assertTrue(filter.contains("$and"));
+        assertFalse(filter.contains("$or"));
+        assertTrue(filter.contains("client-1"));
+        assertTrue(filter.contains("DEBIT"));
+        assertEquals(new Document("id", 1), query.getSortObject());
+    }
+
+    @Test
+    void appliesCursorLimitAndProjection() {
+        Query query = CardQueryBuilder.cards()
+                .after("65f1c0a2b3d4e5f6a7b8c9d0")
+                .limit(5_000, 1_000)
+                .fields(List.of("id", "cardNumber"))
+                .build();
+
+        assertTrue(query.getQueryObject().toJson().contains("$gt"));
+        assertEquals(1_000, query.getLimit());
+        assertEquals(new Document("id", 1).append("cardNumber", 1), query.getFieldsObject());
+    }
+
+    @Test
+    void rejectsUnknownFieldsAndMalformedCursor() {
+        assertThrows(CustomException.class, () -> CardQueryBuilder.cards().fields(List.of("password")));
+        assertThrows(CustomException.class, () -> CardQueryBuilder.cards().after("not-an-object-id"));
+    }
+}
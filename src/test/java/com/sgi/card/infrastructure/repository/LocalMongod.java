@@ -0,0 +1,146 @@
+package com.sgi.card.infrastructure.repository;
+
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Runs a locally installed mongod on a free port and a throwaway data directory, so Mongo-backed tests need
+ * neither Docker nor a download. The binary is taken from the {@code mongod.path} system property, the
+ * {@code MONGOD_PATH} environment variable or the {@code PATH}, in that order.
+ * Tests annotated with {@code @EnabledIf("com.sgi.card.infrastructure.repository.LocalMongod#isAvailable")}
+ * are skipped when no binary is found, and share one instance per JVM.
+ */
+public final class LocalMongod implements AutoCloseable {
+
+    public static final String PATH_PROPERTY = "mongod.path";
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(30);
+    private static LocalMongod shared;
+
+    private final Process process;
+    private final Path dataDir;
+    private final int port;
+
+    private LocalMongod(Process process, Path dataDir, int port) {
+        this.process = process;
+        this.dataDir = dataDir;
+        this.port = port;
+    }
+
+    public static boolean isAvailable() {
+        return find(null).isPresent();
+    }
+
+    /**
+     * @param configured explicit binary path, taking precedence over the property, environment and {@code PATH}.
+     */
+    public static Optional<Path> find(String configured) {
+        return Stream.of(configured, System.getProperty(PATH_PROPERTY), System.getenv("MONGOD_PATH"))
+                .filter(StringUtils::hasText)
+                .map(Path::of)
+                .findFirst()
+                .or(LocalMongod::findOnPath)
+                .filter(Files::isExecutable);
+    }
+
+    public static synchronized LocalMongod shared() {
+        if (shared == null) {
+            shared = start(find(null).orElseThrow(() -> new IllegalStateException("No mongod binary found")));
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::close));
+        }
+        return shared;
+    }
+
+    public static LocalMongod start(Path binary) {
+        try {
+            Path dataDir = Files.createTempDirectory("mongod");
+            int port = freePort();
+            Process process = new ProcessBuilder(binary.toString(),
+                    "--dbpath", dataDir.toString(),
+                    "--port", String.valueOf(port),
+                    "--bind_ip", "127.0.0.1")
+                    .redirectErrorStream(true)
+                    .redirectOutput(dataDir.resolve("mongod.log").toFile())
+                    .start();
+            LocalMongod mongod = new LocalMongod(process, dataDir, port);
+            mongod.awaitListening();
+            return mongod;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public String uri(String database) {
+        return "mongodb://127.0.0.1:" + port + "/" + database;
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            process.waitFor();
+            FileSystemUtils.deleteRecursively(dataDir);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void awaitListening() throws IOException {
+        Instant deadline = Instant.now().plus(STARTUP_TIMEOUT);
+        while (Instant.now().isBefore(deadline)) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("mongod exited with " + process.exitValue() + ":\n"
+                        + Files.readString(dataDir.resolve("mongod.log")));
+            }
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress("127.0.0.1", port), 200);
+                return;
+            } catch (IOException notYet) {
+                sleep();
+            }
+        }
+        close();
+        throw new IllegalStateException("mongod did not listen on port " + port + " within " + STARTUP_TIMEOUT);
+    }
+
+    private static Optional<Path> findOnPath() {
+        String path = System.getenv("PATH");
+        if (path == null) {
+            return Optional.empty();
+        }
+        return Stream.of(path.split(File.pathSeparator))
+                .map(dir -> Path.of(dir, "mongod"))
+                .filter(Files::isExecutable)
+                .findFirst();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
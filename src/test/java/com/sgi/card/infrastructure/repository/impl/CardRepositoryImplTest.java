@@ -0,0 +1,248 @@
+package com.sgi.card.infrastructure.repository.impl;
+
+import com.sgi.card.domain.model.Card;
+import com.sgi.card.domain.shared.CustomError;
+import com.sgi.card.infrastructure.dto.CardResponse;
+import com.sgi.card.infrastructure.exception.CustomException;
+import com.sgi.card.infrastructure.metrics.StageTimer;
+import com.sgi.card.infrastructure.repository.CardQueryBuilder;
+import com.sgi.card.infrastructure.repository.LocalMongod;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataMongoTest
+@EnabledIf("com.sgi.card.infrastructure.repository.LocalMongod#isAvailable")
+@Import({CardRepositoryImpl.class, CardNumberIndex.class, StageTimer.class})
+class CardRepositoryImplTest {
+
+    private static final int PARALLEL_ASSOCIATIONS = 200;
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> LocalMongod.shared().uri("card"));
+    }
+
+    @Autowired
+    private CardRepositoryImpl cardRepository;
+
+    @Autowired
+    private CardNumberIndex cardNumberIndex;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private String cardId;
+
+    @BeforeEach
+    void createCard() {
+        mongoTemplate.dropCollection(Card.class).block();
+        IndexResolver.create(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(Card.class)
+                .forEach(index -> mongoTemplate.indexOps(Card.class).ensureIndex(index).block());
+        cardNumberIndex.ensure().block();
+        cardId = mongoTemplate.insert(Card.builder()
+                        .cardNumber("4000001234567899")
+                        .mainAccountId("main")
+                        .associatedAccountIds(new ArrayList<>(List.of("main")))
+                        .build())
+                .map(Card::getId)
+                .block();
+    }
+
+    @Test
+    void parallelAssociationsAreNeverLost() {
+        StepVerifier.create(Flux.range(0, PARALLEL_ASSOCIATIONS)
+                        .parallel()
+                        .runOn(Schedulers.parallel())
+                        .flatMap(i -> cardRepository.associateAccount(cardId, "account-" + i))
+                        .sequential()
+                        .count())
+                .expectNext((long) PARALLEL_ASSOCIATIONS)
+                .verifyComplete();
+
+        Card card = mongoTemplate.findById(cardId, Card.class).block();
+        assertEquals(PARALLEL_ASSOCIATIONS + 1, card.getAssociatedAccountIds().size());
+    }
+
+    @Test
+    void concurrentAssociationsOfTheSameAccountSucceedOnce() {
+        List<Boolean> outcomes = Flux.range(0, 50)
+                .parallel()
+                .runOn(Schedulers.parallel())
+                .flatMap(i -> cardRepository.associateAccount(cardId, "shared")
+                        .map(card -> true)
+                        .onErrorResume(ex -> isError(ex, CustomError.E_ACCOUNT_ALREADY_ASSOCIATED),
+                                ex -> Mono.just(false)))
+                .sequential()
+                .collectList()
+                .block();
+
+        assertEquals(1, outcomes.stream().filter(Boolean::booleanValue).count());
+    }
+
+    @Test
+    void bulkAssociationAndDisassociationKeepTheMainAccount() {
+        CardResponse associated = cardRepository.associateAccounts(cardId, List.of("a", "b", "main")).block();
+        assertEquals(List.of("main", "a", "b"), associated.getAssociatedAccountIds());
+
+        CardResponse disassociated = cardRepository.disassociateAccounts(cardId, List.of("a")).block();
+        assertEquals(List.of("main", "b"), disassociated.getAssociatedAccountIds());
+
+        StepVerifier.create(cardRepository.disassociateAccounts(cardId, List.of("b", "main")))
+                .expectErrorMatches(ex -> isError(ex, CustomError.E_MAIN_ACCOUNT_DISASSOCIATION))
+                .verify();
+    }
+
+    @Test
+    void partialUpdatesSetOnlyTheGivenFieldsAndDetectStaleVersions() {
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("clientId", "client-1");
+        changes.put("type", null);
+        CardResponse patched = cardRepository.update(cardId, changes, 0L).block();
+        assertEquals("client-1", patched.getClientId());
+        assertEquals("main", patched.getMainAccountId());
+        assertEquals(1L, patched.getVersion());
+
+        StepVerifier.create(cardRepository.update(cardId, Map.of("clientId", "client-2"), 0L))
+                .expectErrorMatches(ex -> isError(ex, CustomError.E_CARD_VERSION_CONFLICT))
+                .verify();
+    }
+
+    @Test
+    void reportsMissingCards() {
+        StepVerifier.create(cardRepository.associateAccount("65f000000000000000000000", "account"))
+                .expectErrorMatches(ex -> isError(ex, CustomError.E_CARD_NOT_FOUND))
+                .verify();
+    }
+
+    @Test
+    void bulkInsertReportsDuplicatesByIndexAndKeepsTheOtherCards() {
+        List<Card> chunk = List.of(
+                Card.builder().cardNumber("4000001111111111").mainAccountId("bulk-0").build(),
+                Card.builder().cardNumber("4000001234567899").mainAccountId("bulk-1").build(),
+                Card.builder().cardNumber("4000002222222222").mainAccountId("bulk-2").build());
+
+        StepVerifier.create(cardRepository.insertAll(chunk))
+                .expectNext(Map.of(1, CustomError.E_DUPLICATE_CARD_NUMBER))
+                .verifyComplete();
+
+        assertEquals(3L, mongoTemplate.count(new Query(), Card.class).block());
+        assertTrue(mongoTemplate.exists(Query.query(Criteria.where("cardNumber").is("4000002222222222")),
+                Card.class).block());
+    }
+
+    @Test
+    void cardNumberIndexWaitsUntilNoNumberIsShared() {
+        mongoTemplate.indexOps(Card.class).dropIndex(CardNumberIndex.NAME).block();
+        String legacyId = mongoTemplate.insert(Card.builder().cardNumber("4000001234567899").mainAccountId("legacy")
+                        .build())
+                .map(Card::getId)
+                .block();
+
+        assertFalse(cardNumberIndex.ensure().block());
+
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(legacyId)), Card.class).block();
+        assertTrue(cardNumberIndex.ensure().block());
+        StepVerifier.create(mongoTemplate.insert(Card.builder().cardNumber("4000001234567899").build()))
+                .expectError(DuplicateKeyException.class)
+                .verify();
+    }
+
+    @Test
+    void filteredListingsAreServedByTheClientIndexes() {
+        mongoTemplate.insertAll(IntStream.range(0, 200)
+                        .mapToObj(i -> Card.builder()
+                                .cardNumber("4000009" + String.format("%09d", i))
+                                .mainAccountId("account-" + i)
+                                .clientId("client-" + i % 10)
+                                .type(i % 2 == 0 ? "DEBIT" : "CREDIT")
+                                .build())
+                        .toList())
+                .blockLast();
+        String cursor = new ObjectId(new Date(0)).toHexString();
+
+        assertWinningIndex("client_index", CardQueryBuilder.cards()
+                .withClientId("client-3")
+                .after(cursor)
+                .limit(20, 1_000)
+                .build());
+        assertWinningIndex("client_type_index", CardQueryBuilder.cards()
+                .withClientId("client-4")
+                .withType("DEBIT")
+                .after(cursor)
+                .limit(20, 1_000)
+                .build());
+    }
+
+    /**
+     * Explains the query as {@link CardRepositoryImpl#findAll} sends it and checks that the winning plan reads
+     * the given index in order, with no collection scan and no in-memory sort.
+     */
+    private void assertWinningIndex(String indexName, Query query) {
+        var entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(Card.class);
+        QueryMapper mapper = new QueryMapper(mongoTemplate.getConverter());
+        Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Card.class))
+                .flatMap(collection -> Mono.from(collection
+                        .find(mapper.getMappedObject(query.getQueryObject(), entity))
+                        .sort(mapper.getMappedSort(query.getSortObject(), entity))
+                        .limit(query.getLimit())
+                        .explain()))
+                .block();
+
+        Document winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+        if (winningPlan.containsKey("queryPlan")) {
+            winningPlan = winningPlan.get("queryPlan", Document.class);
+        }
+        List<Document> stages = new ArrayList<>();
+        collectStages(winningPlan, stages);
+        List<String> names = stages.stream().map(stage -> stage.getString("stage")).toList();
+        assertFalse(names.contains("COLLSCAN"), names::toString);
+        assertFalse(names.contains("SORT"), names::toString);
+        assertTrue(stages.stream().anyMatch(stage -> "IXSCAN".equals(stage.getString("stage"))
+                && indexName.equals(stage.getString("indexName"))), winningPlan::toJson);
+    }
+
+    private static void collectStages(Document stage, List<Document> stages) {
+        stages.add(stage);
+        if (stage.get("inputStage") instanceof Document input) {
+            collectStages(input, stages);
+        }
+        if (stage.get("inputStages") instanceof List<?> inputs) {
+            inputs.forEach(input -> collectStages((Document) input, stages));
+        }
+    }
+
+    private static boolean isError(Throwable ex, CustomError error) {
+        return ex instanceof CustomException custom
+                && error.getError().getCode().equals(custom.getCode());
+    }
+}
@@ -0,0 +1,80 @@
+package com.sgi.card.infrastructure.repository.impl;
+
+import com.sgi.card.domain.model.OutboxEvent;
+import com.sgi.card.infrastructure.repository.LocalMongod;
+import com.sgi.card.infrastructure.subscriber.events.OrchestratorEvent;
+import com.sgi.card.infrastructure.subscriber.message.EventCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataMongoTest
+@EnabledIf("com.sgi.card.infrastructure.repository.LocalMongod#isAvailable")
+@Import({EventOutboxImpl.class, EventCodec.class})
+class EventOutboxImplTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> LocalMongod.shared().uri("card"));
+    }
+
+    @Autowired
+    private EventOutboxImpl eventOutbox;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void emptyOutbox() {
+        mongoTemplate.remove(new Query(), OutboxEvent.class).block();
+    }
+
+    @Test
+    void claimsOnlyTheHeadOfEachKeyUntilItIsRemoved() {
+        Flux.concat(enqueue("card-a", "a1"), enqueue("card-b", "b1"), enqueue("card-a", "a2"),
+                        enqueue("card-a", "a3"))
+                .blockLast();
+
+        List<OutboxEvent> first = claim("relay-1");
+        assertEquals(List.of("a1", "b1"), correlationIds(first));
+        assertTrue(claim("relay-2").isEmpty(), "later events must wait behind a leased head");
+
+        eventOutbox.remove(List.of(first.get(0).getId())).block();
+        assertEquals(List.of("a2"), correlationIds(claim("relay-2")));
+    }
+
+    private Mono<Void> enqueue(String cardId, String correlationId) {
+        return eventOutbox.enqueue(cardId, OrchestratorEvent.builder()
+                .cardId(cardId)
+                .correlationId(correlationId)
+                .build());
+    }
+
+    private List<OutboxEvent> claim(String owner) {
+        return eventOutbox.claim(owner, 10, LEASE).collectList().block();
+    }
+
+    private static List<String> correlationIds(List<OutboxEvent> events) {
+        return events.stream()
+                .map(event -> new String(event.getPayload()))
+                .map(payload -> payload.replaceAll(".*\"correlationId\":\"([^\"]+)\".*", "$1"))
+                .toList();
+    }
+}
@@ -0,0 +1,39 @@
+package com.sgi.card.infrastructure.repository.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeyBloomFilterTest {
+
+    @Test
+    void neverForgetsKeysOfTheCurrentGenerations() {
+        KeyBloomFilter filter = new KeyBloomFilter(1 << 20, 50_000);
+        IntStream.range(0, 50_000).parallel().forEach(i -> filter.put("key-" + i));
+
+        IntStream.range(0, 50_000).forEach(i -> assertTrue(filter.mightContain("key-" + i)));
+    }
+
+    @Test
+    void keepsFalsePositivesRare() {
+        KeyBloomFilter filter = new KeyBloomFilter(1 << 20, 100_000);
+        IntStream.range(0, 50_000).forEach(i -> filter.put("key-" + i));
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("other-" + i))
+                .count();
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void agesOutKeysAfterTwoGenerations() {
+        KeyBloomFilter filter = new KeyBloomFilter(1 << 16, 1_000);
+        filter.put("old");
+        IntStream.range(0, 2_000).forEach(i -> filter.put("key-" + i));
+
+        assertFalse(filter.mightContain("old"));
+    }
+}